@@ -0,0 +1,97 @@
+-- EXPLAIN comparison of the slot range predicates on skewed data:
+--   1. end_ts > from AND start_ts < to                 (original; btree walks all earlier history)
+--   2. the same plus start_ts > from - 31 days          (partition pruning, still a btree range walk)
+--   3. tstzrange(start_ts, end_ts) && tstzrange(from, to) plus the pruning bounds
+--      (GiST index of each partition's no-overlap constraint; what the application runs)
+--   4. a keyset page of GET /users/{id}/slots over the whole year, resumed mid-June
+--      (idx_time_slots_user_start walked in order; earlier partitions pruned, stops after the page)
+--
+-- Everything happens in one transaction that is rolled back, in partitions for 2099, so it can
+-- be run against a live database:
+--   docker compose exec -T db psql -U minidoodle -d minidoodle < ops/explain/slot-overlap.sql
+
+\set ON_ERROR_STOP on
+\set dense '''eeeeeeee-0000-0000-0000-000000000001'''
+\set from '''2099-06-15T00:00:00Z'''
+\set to '''2099-06-16T00:00:00Z'''
+
+BEGIN;
+
+SELECT time_slots_ensure_partitions('2099-01-01', '2100-01-01');
+
+INSERT INTO users (id, email, name)
+SELECT ('eeeeeeee-0000-0000-0000-' || lpad(g::text, 12, '0'))::uuid, 'explain-' || g || '@example.invalid', 'explain ' || g
+FROM generate_series(1, 201) g;
+
+-- One dense calendar (15 minutes every 30 minutes for a year), 200 sparse ones (an hour a day)
+INSERT INTO time_slots (id, user_id, start_ts, end_ts, status)
+SELECT gen_random_uuid(), :dense::uuid, t, t + interval '15 minutes', 'AVAILABLE'
+FROM generate_series(timestamptz '2099-01-01', timestamptz '2099-12-31', interval '30 minutes') t;
+
+INSERT INTO time_slots (id, user_id, start_ts, end_ts, status)
+SELECT gen_random_uuid(), ('eeeeeeee-0000-0000-0000-' || lpad(u::text, 12, '0'))::uuid, t, t + interval '1 hour', 'AVAILABLE'
+FROM generate_series(2, 201) u,
+     generate_series(timestamptz '2099-01-01', timestamptz '2099-12-31', interval '1 day') t;
+
+ANALYZE time_slots_2099_01, time_slots_2099_02, time_slots_2099_03, time_slots_2099_04,
+        time_slots_2099_05, time_slots_2099_06, time_slots_2099_07, time_slots_2099_08,
+        time_slots_2099_09, time_slots_2099_10, time_slots_2099_11, time_slots_2099_12;
+
+\echo '=== dense user, one day: 1. original predicate'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_ts, end_ts FROM time_slots
+WHERE user_id = :dense::uuid
+  AND end_ts > :from::timestamptz AND start_ts < :to::timestamptz
+ORDER BY start_ts;
+
+\echo '=== dense user, one day: 2. pruned btree range'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_ts, end_ts FROM time_slots
+WHERE user_id = :dense::uuid
+  AND end_ts > :from::timestamptz
+  AND start_ts > :from::timestamptz - interval '31 days' AND start_ts < :to::timestamptz
+ORDER BY start_ts;
+
+\echo '=== dense user, one day: 3. && on GiST'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_ts, end_ts FROM time_slots
+WHERE user_id = :dense::uuid
+  AND tstzrange(start_ts, end_ts, '[)') && tstzrange(:from::timestamptz, :to::timestamptz, '[)')
+  AND start_ts > :from::timestamptz - interval '31 days' AND start_ts < :to::timestamptz
+ORDER BY start_ts;
+
+\echo '=== dense user, whole year: 4. keyset page after a cursor'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, start_ts, end_ts FROM time_slots
+WHERE user_id = :dense::uuid
+  AND end_ts > timestamptz '2099-01-01'
+  AND start_ts > timestamptz '2099-01-01' - interval '31 days' AND start_ts < timestamptz '2100-01-01'
+  AND start_ts >= :from::timestamptz
+  AND (start_ts, id) > (:from::timestamptz, '00000000-0000-0000-0000-000000000000'::uuid)
+ORDER BY start_ts, id
+LIMIT 101;
+
+\echo '=== 50 users incl. the dense one, one day: 1. original predicate'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT user_id, start_ts, end_ts FROM time_slots
+WHERE user_id IN (SELECT ('eeeeeeee-0000-0000-0000-' || lpad(g::text, 12, '0'))::uuid FROM generate_series(1, 50) g)
+  AND end_ts > :from::timestamptz AND start_ts < :to::timestamptz
+ORDER BY user_id, start_ts;
+
+\echo '=== 50 users incl. the dense one, one day: 2. pruned btree range'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT user_id, start_ts, end_ts FROM time_slots
+WHERE user_id IN (SELECT ('eeeeeeee-0000-0000-0000-' || lpad(g::text, 12, '0'))::uuid FROM generate_series(1, 50) g)
+  AND end_ts > :from::timestamptz
+  AND start_ts > :from::timestamptz - interval '31 days' AND start_ts < :to::timestamptz
+ORDER BY user_id, start_ts;
+
+\echo '=== 50 users incl. the dense one, one day: 3. && on GiST'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT user_id, start_ts, end_ts FROM time_slots
+WHERE user_id IN (SELECT ('eeeeeeee-0000-0000-0000-' || lpad(g::text, 12, '0'))::uuid FROM generate_series(1, 50) g)
+  AND tstzrange(start_ts, end_ts, '[)') && tstzrange(:from::timestamptz, :to::timestamptz, '[)')
+  AND start_ts > :from::timestamptz - interval '31 days' AND start_ts < :to::timestamptz
+ORDER BY user_id, start_ts;
+
+ROLLBACK;
@@ -0,0 +1,8 @@
+#!/bin/sh
+# Runs once when the primary's data directory is initialised: creates the replication role
+# and lets it connect for streaming replication.
+set -e
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<SQL
+CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+SQL
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,55 @@
+package com.example.minidoodle.api.controller;
+
+import com.example.minidoodle.api.dto.IntervalResponse;
+import com.example.minidoodle.domain.BenchmarkCalendars;
+import com.example.minidoodle.domain.EpochIntervalEngine;
+import com.example.minidoodle.domain.IntervalEngine;
+import com.example.minidoodle.domain.IntervalSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Cost of turning per-user free sets into response DTOs, and of serializing them. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityMappingBenchmark {
+
+  @Param({"16", "256"})
+  int users;
+
+  @Param({"8", "64"})
+  int intervalsPerUser;
+
+  List<IntervalSet> free;
+  ObjectMapper json;
+
+  @Setup
+  public void setUp() {
+    IntervalEngine engine = new EpochIntervalEngine();
+    free = new BenchmarkCalendars(users, intervalsPerUser, 0.5, 7, 42).free(engine);
+    json = new ObjectMapper().registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  @Benchmark
+  public int toResponse() {
+    int n = 0;
+    for (IntervalSet set : free) n += AvailabilityController.toResponse(set).size();
+    return n;
+  }
+
+  @Benchmark
+  public byte[] toResponseAndSerialize() throws Exception {
+    List<List<IntervalResponse>> out = new java.util.ArrayList<>(free.size());
+    for (IntervalSet set : free) out.add(AvailabilityController.toResponse(set));
+    return json.writeValueAsBytes(out);
+  }
+}
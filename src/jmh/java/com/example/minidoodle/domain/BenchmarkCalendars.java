@@ -0,0 +1,65 @@
+package com.example.minidoodle.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic calendars for the benchmarks. Each user gets {@code intervalsPerUser}
+ * AVAILABLE slots spread evenly over the range, shifted per user so groups only partly overlap.
+ * {@code overlapDensity} is the fraction of AVAILABLE slots that contain a BUSY slot.
+ */
+public final class BenchmarkCalendars {
+
+  public static final long MINUTE = 60_000_000L;
+  public static final long FROM = EpochMicros.of(java.time.Instant.parse("2026-01-05T00:00:00Z"));
+
+  public final long fromMicros;
+  public final long toMicros;
+  /** Per user: packed [start, end, ...] bounds in epoch micros. */
+  public final List<long[]> available = new ArrayList<>();
+  public final List<long[]> busy = new ArrayList<>();
+
+  public BenchmarkCalendars(int users, int intervalsPerUser, double overlapDensity, int rangeDays, long seed) {
+    this.fromMicros = FROM;
+    this.toMicros = FROM + rangeDays * 1440L * MINUTE;
+    var rnd = new Random(seed);
+    long pitch = (toMicros - fromMicros) / intervalsPerUser;
+
+    for (int u = 0; u < users; u++) {
+      long[] a = new long[2 * intervalsPerUser];
+      long[] b = new long[2 * intervalsPerUser];
+      int busyCount = 0;
+      long shift = (long) (rnd.nextDouble() * pitch / 4);
+      for (int i = 0; i < intervalsPerUser; i++) {
+        long start = fromMicros + i * pitch + shift;
+        long end = start + pitch / 2 + (long) (rnd.nextDouble() * pitch / 4);
+        a[2 * i] = start;
+        a[2 * i + 1] = end;
+        if (rnd.nextDouble() < overlapDensity) {
+          long busyStart = start + (long) (rnd.nextDouble() * (end - start) / 2);
+          b[2 * busyCount] = busyStart;
+          b[2 * busyCount + 1] = busyStart + (end - busyStart) / 3 + 1;
+          busyCount++;
+        }
+      }
+      available.add(a);
+      busy.add(java.util.Arrays.copyOf(b, 2 * busyCount));
+    }
+  }
+
+  public static IntervalSet build(IntervalEngine engine, long[] bounds) {
+    var b = engine.builder(bounds.length / 2);
+    for (int i = 0; i < bounds.length; i += 2) b.add(bounds[i], bounds[i + 1]);
+    return b.build();
+  }
+
+  /** Per-user free time computed with {@code engine}. */
+  public List<IntervalSet> free(IntervalEngine engine) {
+    List<IntervalSet> out = new ArrayList<>(available.size());
+    for (int u = 0; u < available.size(); u++) {
+      out.add(engine.subtract(build(engine, available.get(u)), build(engine, busy.get(u))));
+    }
+    return out;
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.minidoodle.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free/busy subtraction and common-free intersection for both engines and all strategies,
+ * plus the quantized bitmap mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalEngineBenchmark {
+
+  @Param({"2", "16", "256"})
+  int users;
+
+  @Param({"8", "64"})
+  int intervalsPerUser;
+
+  @Param({"0.1", "0.8"})
+  double overlapDensity;
+
+  @Param({"1", "30"})
+  int rangeDays;
+
+  @Param({"epoch", "instant"})
+  String engineName;
+
+  IntervalEngine engine;
+  BenchmarkCalendars calendars;
+  List<IntervalSet> available;
+  List<IntervalSet> busy;
+  List<IntervalSet> free;
+
+  @Setup
+  public void setUp() {
+    engine = engineName.equals("instant") ? new InstantIntervalEngine() : new EpochIntervalEngine(ForkJoinPool.commonPool());
+    calendars = new BenchmarkCalendars(users, intervalsPerUser, overlapDensity, rangeDays, 42);
+    available = new ArrayList<>();
+    busy = new ArrayList<>();
+    for (int u = 0; u < users; u++) {
+      available.add(BenchmarkCalendars.build(engine, calendars.available.get(u)));
+      busy.add(BenchmarkCalendars.build(engine, calendars.busy.get(u)));
+    }
+    free = calendars.free(engine);
+  }
+
+  @Benchmark
+  public int subtract() {
+    int n = 0;
+    for (int u = 0; u < users; u++) n += engine.subtract(available.get(u), busy.get(u)).size();
+    return n;
+  }
+
+  @Benchmark
+  public IntervalSet intersectFold() {
+    return engine.intersectAll(free, IntersectStrategy.FOLD);
+  }
+
+  @Benchmark
+  public IntervalSet intersectKWay() {
+    return engine.intersectAll(free, IntersectStrategy.K_WAY);
+  }
+
+  @Benchmark
+  public IntervalSet intersectParallel() {
+    return engine.intersectAll(free, IntersectStrategy.PARALLEL);
+  }
+
+  /** Bitmap build from raw slots plus word-wise AND at 15-minute granularity. */
+  @Benchmark
+  public IntervalSet quantized15m() {
+    AvailabilityBitmap common = null;
+    AvailabilityBitmap user = AvailabilityBitmap.empty(calendars.fromMicros, calendars.toMicros, 15 * BenchmarkCalendars.MINUTE);
+    for (int u = 0; u < users; u++) {
+      user.clear();
+      long[] a = calendars.available.get(u);
+      long[] b = calendars.busy.get(u);
+      for (int i = 0; i < a.length; i += 2) user.markFree(a[i], a[i + 1]);
+      for (int i = 0; i < b.length; i += 2) user.markBusy(b[i], b[i + 1]);
+      if (common == null) common = user.copy();
+      else common.and(user);
+    }
+    return common.toIntervals(engine.builder(16));
+  }
+}
@@ -1,42 +1,209 @@
 package com.example.minidoodle.api.controller;
 
+import com.example.minidoodle.api.dto.AvailabilityChunk;
 import com.example.minidoodle.api.dto.AvailabilityResponse;
+import com.example.minidoodle.api.dto.CompactAvailabilityResponse;
 import com.example.minidoodle.api.dto.IntervalResponse;
+import com.example.minidoodle.api.dto.MeetingWindowsResponse;
+import com.example.minidoodle.application.AvailabilityMetrics;
 import com.example.minidoodle.application.AvailabilityService;
+import com.example.minidoodle.application.MeetingTimeFinder;
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.IntervalSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/v1/availability")
 public class AvailabilityController {
 
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String CBOR = "application/cbor";
+
   private final AvailabilityService availability;
+  private final MeetingTimeFinder finder;
+  private final AvailabilityMetrics metrics;
+  private final ObjectMapper json;
+  private final CalendarETags etags;
 
-  public AvailabilityController(AvailabilityService availability) {
+  public AvailabilityController(AvailabilityService availability, MeetingTimeFinder finder,
+                                AvailabilityMetrics metrics, ObjectMapper json, CalendarETags etags) {
     this.availability = availability;
+    this.finder = finder;
+    this.metrics = metrics;
+    this.json = json;
+    this.etags = etags;
   }
 
+  /** Supports {@code If-None-Match}: an unchanged ETag is answered with 304 without loading slots. */
   @GetMapping
-  public AvailabilityResponse get(@RequestParam List<UUID> userIds,
-                                  @RequestParam Instant from,
-                                  @RequestParam Instant to) {
-    var res = availability.availability(userIds, from, to);
-
-    var users = res.users().stream()
-        .map(u -> new AvailabilityResponse.UserAvailability(
-            u.userId(),
-            u.free().stream().map(i -> new IntervalResponse(i.start(), i.end())).toList(),
-            u.busy().stream().map(i -> new IntervalResponse(i.start(), i.end())).toList()
-        ))
-        .toList();
-
-    var common = res.commonFree().stream()
-        .map(i -> new IntervalResponse(i.start(), i.end()))
-        .toList();
-
-    return new AvailabilityResponse(res.from(), res.to(), users, common);
+  public ResponseEntity<AvailabilityResponse> get(@RequestParam List<UUID> userIds,
+                                                  @RequestParam Instant from,
+                                                  @RequestParam Instant to,
+                                                  @RequestParam(required = false) Integer granularityMinutes,
+                                                  @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+    return availability("json", userIds, from, to, granularityMinutes, ifNoneMatch, res -> {
+      var users = res.users().stream()
+          .map(u -> new AvailabilityResponse.UserAvailability(
+              u.userId(),
+              toResponse(u.free()),
+              toResponse(u.busy())
+          ))
+          .toList();
+      return new AvailabilityResponse(res.from(), res.to(), users, toResponse(res.commonFree()));
+    });
+  }
+
+  /** {@link #get} for {@code Accept: application/cbor}, in the compact encoding of {@link CompactAvailabilityResponse}. */
+  @GetMapping(produces = CBOR)
+  public ResponseEntity<CompactAvailabilityResponse> getCompact(@RequestParam List<UUID> userIds,
+                                                                @RequestParam Instant from,
+                                                                @RequestParam Instant to,
+                                                                @RequestParam(required = false) Integer granularityMinutes,
+                                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+    return availability("cbor", userIds, from, to, granularityMinutes, ifNoneMatch, AvailabilityController::toCompact);
+  }
+
+  private <T> ResponseEntity<T> availability(String format, List<UUID> userIds, Instant from, Instant to,
+                                             Integer granularityMinutes, String ifNoneMatch,
+                                             Function<AvailabilityService.AvailabilityResult, T> mapper) {
+    AvailabilityService.requireValidRange(from, to);
+    String scope = "availability|" + format + "|" + from + "|" + to + "|" + granularityMinutes;
+    // Only conditional requests read the versions up front; others take them from the cached calendars
+    Map<UUID, Long> current = null;
+    if (ifNoneMatch != null) {
+      current = availability.versions(userIds);
+      ResponseEntity<T> unchanged = etags.notModified(ifNoneMatch, etags.of(scope, userIds, current));
+      if (unchanged != null) return unchanged;
+    }
+
+    var res = availability.availability(userIds, from, to,
+        granularityMinutes == null ? null : Duration.ofMinutes(granularityMinutes), current);
+
+    long t0 = System.nanoTime();
+    T response = mapper.apply(res);
+    metrics.map(System.nanoTime() - t0);
+    return ResponseEntity.ok()
+        .eTag(etags.of(scope, userIds, res.versions()))
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(response);
+  }
+
+  /** First {@code limit} windows of {@code durationMinutes} in which every user is free. */
+  @GetMapping("/windows")
+  public MeetingWindowsResponse windows(@RequestParam List<UUID> userIds,
+                                        @RequestParam Instant from,
+                                        @RequestParam Instant to,
+                                        @RequestParam int durationMinutes,
+                                        @RequestParam(required = false) Integer stepMinutes,
+                                        @RequestParam(defaultValue = "10") int limit) {
+    var windows = finder.find(
+        userIds,
+        from,
+        to,
+        Duration.ofMinutes(durationMinutes),
+        stepMinutes == null ? null : Duration.ofMinutes(stepMinutes),
+        limit
+    );
+    return new MeetingWindowsResponse(from, to, durationMinutes,
+        windows.stream().map(w -> new IntervalResponse(w.start(), w.end())).toList());
+  }
+
+  /**
+   * Newline-delimited JSON: one {@code user} line per user, written as soon as that user's slots
+   * have been read, followed by a single {@code common} line with the common free intervals.
+   */
+  @GetMapping(value = "/stream", produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> stream(@RequestParam List<UUID> userIds,
+                                                      @RequestParam Instant from,
+                                                      @RequestParam Instant to) {
+    AvailabilityService.requireValidRange(from, to);
+    StreamingResponseBody body = out -> {
+      var common = availability.streamAvailability(userIds, from, to,
+          u -> writeLine(out, AvailabilityChunk.user(u.userId(), toResponse(u.free()), toResponse(u.busy()))));
+      writeLine(out, AvailabilityChunk.common(from, to, toResponse(common)));
+    };
+    return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+  }
+
+  private void writeLine(OutputStream out, AvailabilityChunk chunk) {
+    try {
+      out.write(json.writeValueAsBytes(chunk));
+      out.write('\n');
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static CompactAvailabilityResponse toCompact(AvailabilityService.AvailabilityResult res) {
+    long from = EpochMicros.of(res.from());
+    long to = EpochMicros.of(res.to());
+    long unit = 1;
+    for (long candidate : COMPACT_UNITS) {
+      if (divides(candidate, from, to, res.commonFree(), res.users())) {
+        unit = candidate;
+        break;
+      }
+    }
+
+    List<CompactAvailabilityResponse.UserAvailability> users = new ArrayList<>(res.users().size());
+    for (var u : res.users()) {
+      users.add(new CompactAvailabilityResponse.UserAvailability(
+          u.userId(), deltas(u.free(), from, unit), deltas(u.busy(), from, unit)));
+    }
+    return new CompactAvailabilityResponse(unit, from / unit, to / unit, users, deltas(res.commonFree(), from, unit));
+  }
+
+  // Coarsest first; microseconds when neither fits
+  private static final long[] COMPACT_UNITS = {60_000_000L, 1_000_000L};
+
+  private static boolean divides(long unit, long from, long to, IntervalSet common,
+                                 List<AvailabilityService.UserAvailability> users) {
+    if (from % unit != 0 || to % unit != 0 || !divides(unit, common)) return false;
+    for (var u : users) {
+      if (!divides(unit, u.free()) || !divides(unit, u.busy())) return false;
+    }
+    return true;
+  }
+
+  private static boolean divides(long unit, IntervalSet set) {
+    for (int i = 0; i < set.size(); i++) {
+      if (set.startMicros(i) % unit != 0 || set.endMicros(i) % unit != 0) return false;
+    }
+    return true;
+  }
+
+  private static long[] deltas(IntervalSet set, long from, long unit) {
+    long[] out = new long[set.size() * 2];
+    long prev = from;
+    for (int i = 0; i < set.size(); i++) {
+      out[2 * i] = (set.startMicros(i) - prev) / unit;
+      out[2 * i + 1] = (set.endMicros(i) - set.startMicros(i)) / unit;
+      prev = set.endMicros(i);
+    }
+    return out;
+  }
+
+  public static List<IntervalResponse> toResponse(IntervalSet set) {
+    List<IntervalResponse> out = new ArrayList<>(set.size());
+    for (int i = 0; i < set.size(); i++) {
+      out.add(new IntervalResponse(EpochMicros.toInstant(set.startMicros(i)), EpochMicros.toInstant(set.endMicros(i))));
+    }
+    return out;
   }
 }
@@ -0,0 +1,75 @@
+package com.example.minidoodle.api.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Weak ETags for calendar reads: a hash of the request scope (endpoint and parameters) and the
+ * calendar version of each requested user. Any committed write to one of those users' slots
+ * changes the tag, so a matching {@code If-None-Match} can be answered with 304 from the versions
+ * alone.
+ */
+@Component
+class CalendarETags {
+
+  private final Counter notModified;
+  private final Counter modified;
+
+  CalendarETags(MeterRegistry registry) {
+    this.notModified = Counter.builder("minidoodle.conditional.requests").tag("result", "not_modified")
+        .description("Conditional calendar reads answered with 304").register(registry);
+    this.modified = Counter.builder("minidoodle.conditional.requests").tag("result", "modified")
+        .description("Conditional calendar reads whose ETag no longer matched").register(registry);
+  }
+
+  /** {@code W/"..."} for {@code scope} and the versions of {@code userIds}, in request order. */
+  String of(String scope, List<UUID> userIds, Map<UUID, Long> versions) {
+    var key = new StringBuilder(scope);
+    for (UUID id : userIds) key.append('|').append(id).append(':').append(versions.getOrDefault(id, 0L));
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+      return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * A 304 for {@code etag} if {@code ifNoneMatch} lists it (weak comparison), otherwise null. It
+   * carries {@code Vary: Accept} like the 200s of reads served in several formats.
+   */
+  <T> ResponseEntity<T> notModified(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) return null;
+    if (!matches(ifNoneMatch, etag)) {
+      modified.increment();
+      return null;
+    }
+    notModified.increment();
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+  }
+
+  static boolean matches(String ifNoneMatch, String etag) {
+    String opaque = opaque(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.equals("*") || opaque(candidate).equals(opaque)) return true;
+    }
+    return false;
+  }
+
+  private static String opaque(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+}
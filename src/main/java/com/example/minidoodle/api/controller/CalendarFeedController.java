@@ -0,0 +1,60 @@
+package com.example.minidoodle.api.controller;
+
+import com.example.minidoodle.api.dto.CalendarChangeResponse;
+import com.example.minidoodle.application.CalendarChangedEvent;
+import com.example.minidoodle.application.CalendarFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/calendars")
+public class CalendarFeedController {
+
+  private final CalendarFeed feed;
+  private final Duration timeout;
+
+  public CalendarFeedController(CalendarFeed feed, @Value("${minidoodle.feed.timeout:30m}") Duration timeout) {
+    this.feed = feed;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Server-sent events for committed changes to the calendars of {@code userIds}: {@code ready} once
+   * subscribed, then {@code changed} per user and changed window (coalesced while queued), or
+   * {@code resync} when changes had to be dropped. The stream ends after the timeout; clients reconnect.
+   */
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes(@RequestParam List<UUID> userIds) {
+    var emitter = new SseEmitter(timeout.toMillis());
+    var subscription = feed.subscribe(userIds, new CalendarFeed.Listener() {
+      @Override
+      public void onReady() throws Exception {
+        emitter.send(SseEmitter.event().name("ready").data(Map.of("userIds", userIds)));
+      }
+
+      @Override
+      public void onChanges(List<CalendarChangedEvent.Change> changes, boolean resync) throws Exception {
+        if (resync) emitter.send(SseEmitter.event().name("resync").data(Map.of()));
+        for (var c : changes) {
+          emitter.send(SseEmitter.event().name("changed").data(new CalendarChangeResponse(c.userId(), c.from(), c.to())));
+        }
+      }
+
+      @Override
+      public void onHeartbeat() throws Exception {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+      }
+    });
+    emitter.onCompletion(subscription::close);
+    emitter.onTimeout(subscription::close);
+    emitter.onError(e -> subscription.close());
+    return emitter;
+  }
+}
@@ -1,8 +1,11 @@
 package com.example.minidoodle.api.controller;
 
+import com.example.minidoodle.api.dto.BulkScheduleMeetingsRequest;
+import com.example.minidoodle.api.dto.BulkScheduleMeetingsResponse;
 import com.example.minidoodle.api.dto.CreateMeetingRequest;
 import com.example.minidoodle.api.dto.MeetingResponse;
 import com.example.minidoodle.application.MeetingService;
+import com.example.minidoodle.infrastructure.persistence.jdbc.MeetingRow;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
@@ -40,18 +43,43 @@ public class MeetingsController {
     );
   }
 
+  @PostMapping("/bulk")
+  public BulkScheduleMeetingsResponse scheduleAll(@Valid @RequestBody BulkScheduleMeetingsRequest req) {
+    var items = req.meetings().stream()
+        .map(i -> i == null ? null : new MeetingService.NewMeeting(
+            i.organizerId(),
+            i.slotId(),
+            i.title(),
+            i.description(),
+            i.participantIds()))
+        .toList();
+    var results = meetings.scheduleAll(items).stream()
+        .map(r -> new BulkScheduleMeetingsResponse.ItemResult(r.index(), r.outcome().name(), r.meetingId(), r.message()))
+        .toList();
+    int scheduled = (int) results.stream().filter(r -> r.meetingId() != null).count();
+    return new BulkScheduleMeetingsResponse(scheduled, results.size() - scheduled, results);
+  }
+
   @GetMapping("/{id}")
   public MeetingResponse get(@PathVariable UUID id) {
-    var m = meetings.get(id);
-    List<UUID> participants = m.getParticipants().stream().map(p -> p.getId()).toList();
+    return toResponse(meetings.get(id));
+  }
+
+  /** Many meetings in one round trip, in request order; unknown ids are left out. */
+  @GetMapping
+  public List<MeetingResponse> getAll(@RequestParam List<UUID> ids) {
+    return meetings.getAll(ids).stream().map(this::toResponse).toList();
+  }
+
+  private MeetingResponse toResponse(MeetingRow m) {
     return new MeetingResponse(
-        m.getId(),
-        m.getOrganizer().getId(),
-        m.getStartTs(),
-        m.getEndTs(),
-        m.getTitle(),
-        m.getDescription(),
-        participants
+        m.id(),
+        m.organizerId(),
+        m.start(),
+        m.end(),
+        m.title(),
+        m.description(),
+        m.participantIds()
     );
   }
 }
@@ -3,22 +3,29 @@ package com.example.minidoodle.api.controller;
 import com.example.minidoodle.api.dto.*;
 import com.example.minidoodle.application.SlotService;
 import com.example.minidoodle.domain.SlotStatus;
+import com.example.minidoodle.infrastructure.persistence.jdbc.SlotRow;
 import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1")
 public class SlotsController {
 
+  static final String NEXT_CURSOR = "X-Next-Cursor";
+
   private final SlotService slots;
+  private final CalendarETags etags;
 
-  public SlotsController(SlotService slots) {
+  public SlotsController(SlotService slots, CalendarETags etags) {
     this.slots = slots;
+    this.etags = etags;
   }
 
   @PostMapping("/users/{userId}/slots")
@@ -27,12 +34,46 @@ public class SlotsController {
     return toResponse(s);
   }
 
+  @PostMapping("/slots/bulk")
+  public BulkCreateSlotsResponse createAll(@Valid @RequestBody BulkCreateSlotsRequest req) {
+    var items = req.slots().stream()
+        .map(i -> i == null ? null : new SlotService.NewSlot(
+            i.userId(),
+            i.start(),
+            i.durationMinutes() == null ? null : Duration.ofMinutes(i.durationMinutes()),
+            i.status()))
+        .toList();
+    var results = slots.createAll(items).stream()
+        .map(r -> new BulkCreateSlotsResponse.ItemResult(r.index(), r.outcome().name(), r.slotId(), r.message()))
+        .toList();
+    int created = (int) results.stream().filter(r -> r.slotId() != null).count();
+    return new BulkCreateSlotsResponse(created, results.size() - created, results);
+  }
+
+  /**
+   * Pages by (start, id): at most {@code limit} slots, with the cursor of the next page in
+   * {@code X-Next-Cursor} until the last one. Supports {@code If-None-Match}: an unchanged ETag is
+   * answered with 304 without loading slots.
+   */
   @GetMapping("/users/{userId}/slots")
-  public List<SlotResponse> list(@PathVariable UUID userId,
-                                @RequestParam Instant from,
-                                @RequestParam Instant to,
-                                @RequestParam(required = false) SlotStatus status) {
-    return slots.list(userId, from, to, status).stream().map(this::toResponse).toList();
+  public ResponseEntity<List<SlotResponse>> list(@PathVariable UUID userId,
+                                                 @RequestParam Instant from,
+                                                 @RequestParam Instant to,
+                                                 @RequestParam(required = false) SlotStatus status,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+    String scope = "slots|" + from + "|" + to + "|" + status + "|" + cursor + "|" + limit;
+    if (ifNoneMatch != null) {
+      ResponseEntity<List<SlotResponse>> unchanged =
+          etags.notModified(ifNoneMatch, etags.of(scope, List.of(userId), Map.of(userId, slots.version(userId))));
+      if (unchanged != null) return unchanged;
+    }
+
+    var page = slots.list(userId, from, to, status, cursor, limit);
+    var res = ResponseEntity.ok().eTag(etags.of(scope, List.of(userId), Map.of(userId, page.version())));
+    if (page.nextCursor() != null) res.header(NEXT_CURSOR, page.nextCursor());
+    return res.body(page.slots().stream().map(this::toResponse).toList());
   }
 
   @PatchMapping("/slots/{slotId}")
@@ -47,6 +88,10 @@ public class SlotsController {
     slots.delete(slotId);
   }
 
+  private SlotResponse toResponse(SlotRow s) {
+    return new SlotResponse(s.id(), s.userId(), s.start(), s.end(), s.status(), s.meetingId());
+  }
+
   private SlotResponse toResponse(com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity s) {
     return new SlotResponse(
         s.getId(),
@@ -27,6 +27,6 @@ public class UsersController {
   @GetMapping("/{id}")
   public UserResponse get(@PathVariable UUID id) {
     var u = users.get(id);
-    return new UserResponse(u.getId(), u.getEmail(), u.getName(), u.getCreatedAt());
+    return new UserResponse(u.id(), u.email(), u.name(), u.createdAt());
   }
 }
@@ -0,0 +1,27 @@
+package com.example.minidoodle.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/** One NDJSON line of the streaming availability response: a {@code user} line per user, then one {@code common} line. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AvailabilityChunk(
+    String type,
+    UUID userId,
+    List<IntervalResponse> free,
+    List<IntervalResponse> busy,
+    Instant from,
+    Instant to,
+    List<IntervalResponse> commonFree
+) {
+  public static AvailabilityChunk user(UUID userId, List<IntervalResponse> free, List<IntervalResponse> busy) {
+    return new AvailabilityChunk("user", userId, free, busy, null, null, null);
+  }
+
+  public static AvailabilityChunk common(Instant from, Instant to, List<IntervalResponse> commonFree) {
+    return new AvailabilityChunk("common", null, null, null, from, to, commonFree);
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.minidoodle.api.dto;
+
+import com.example.minidoodle.domain.SlotStatus;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/** Items are validated one by one by the service so that a bad item fails alone. */
+public record BulkCreateSlotsRequest(
+    @NotEmpty List<Item> slots
+) {
+  public record Item(UUID userId, Instant start, Integer durationMinutes, SlotStatus status) {}
+}
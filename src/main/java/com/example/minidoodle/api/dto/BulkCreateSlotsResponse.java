@@ -0,0 +1,12 @@
+package com.example.minidoodle.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkCreateSlotsResponse(
+    int created,
+    int failed,
+    List<ItemResult> results
+) {
+  public record ItemResult(int index, String outcome, UUID slotId, String message) {}
+}
@@ -0,0 +1,13 @@
+package com.example.minidoodle.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Items are validated one by one by the service so that a bad item fails alone. */
+public record BulkScheduleMeetingsRequest(
+    @NotEmpty List<Item> meetings
+) {
+  public record Item(UUID organizerId, UUID slotId, String title, String description, List<UUID> participantIds) {}
+}
@@ -0,0 +1,7 @@
+package com.example.minidoodle.api.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Data of a {@code changed} event on the calendar change feed: [from, to) of the user's calendar changed. */
+public record CalendarChangeResponse(UUID userId, Instant from, Instant to) {}
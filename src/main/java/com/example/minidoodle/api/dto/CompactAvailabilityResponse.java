@@ -0,0 +1,21 @@
+package com.example.minidoodle.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code application/cbor} form of {@link AvailabilityResponse}. Times are integers in units of
+ * {@code unitMicros} (the coarsest of a minute, a second or a microsecond that represents every
+ * bound exactly): {@code from} and {@code to} since the epoch, and interval lists flattened and
+ * delta-encoded from {@code from} as {@code [start0 - from, end0 - start0, start1 - end0, ...]}.
+ * CBOR stores each integer in 1, 2, 3, 5 or 9 bytes depending on its magnitude.
+ */
+public record CompactAvailabilityResponse(
+    long unitMicros,
+    long from,
+    long to,
+    List<UserAvailability> users,
+    long[] commonFree
+) {
+  public record UserAvailability(UUID userId, long[] free, long[] busy) {}
+}
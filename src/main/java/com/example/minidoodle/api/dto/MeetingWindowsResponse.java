@@ -0,0 +1,11 @@
+package com.example.minidoodle.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MeetingWindowsResponse(
+    Instant from,
+    Instant to,
+    long durationMinutes,
+    List<IntervalResponse> windows
+) {}
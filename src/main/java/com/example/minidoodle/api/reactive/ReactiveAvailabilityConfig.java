@@ -0,0 +1,49 @@
+package com.example.minidoodle.api.reactive;
+
+import com.example.minidoodle.application.AvailabilityService;
+import com.example.minidoodle.infrastructure.persistence.r2dbc.CalendarR2dbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Optional reactive read stack, enabled by {@code minidoodle.reactive.enabled=true}: the
+ * {@link ReactiveAvailabilityServer} and its R2DBC pool. By default the pool connects to the
+ * primary database with the JDBC datasource's credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minidoodle.reactive.enabled", havingValue = "true")
+public class ReactiveAvailabilityConfig {
+
+  @Bean(destroyMethod = "close")
+  CalendarR2dbcRepository calendarR2dbcRepository(DataSourceProperties properties,
+                                                  @Value("${minidoodle.reactive.r2dbc.url:}") String url,
+                                                  @Value("${minidoodle.reactive.r2dbc.max-connections:10}") int maxConnections,
+                                                  @Value("${minidoodle.reactive.r2dbc.max-acquire-time:5s}") Duration maxAcquireTime,
+                                                  @Value("${minidoodle.jdbc.cursor-fetch-size:1000}") int fetchSize) {
+    return new CalendarR2dbcRepository(
+        url.isEmpty() ? properties.determineUrl().replaceFirst("^jdbc:", "r2dbc:") : url,
+        properties.determineUsername(),
+        properties.determinePassword(),
+        maxConnections,
+        maxAcquireTime,
+        fetchSize);
+  }
+
+  @Bean(destroyMethod = "close")
+  ReactiveAvailabilityServer reactiveAvailabilityServer(AvailabilityService availability,
+                                                        CalendarR2dbcRepository calendars,
+                                                        ObjectMapper json,
+                                                        MeterRegistry registry,
+                                                        @Value("${minidoodle.reactive.port:8081}") int port,
+                                                        @Value("${minidoodle.reactive.threads:2}") int threads,
+                                                        @Value("${minidoodle.reactive.buffered-users:256}") int bufferedUsers) {
+    return new ReactiveAvailabilityServer(availability, calendars, json, registry, port, threads, bufferedUsers);
+  }
+}
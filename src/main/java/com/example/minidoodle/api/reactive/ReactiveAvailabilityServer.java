@@ -0,0 +1,195 @@
+package com.example.minidoodle.api.reactive;
+
+import com.example.minidoodle.api.dto.AvailabilityChunk;
+import com.example.minidoodle.api.error.ApiError;
+import com.example.minidoodle.application.AvailabilityFold;
+import com.example.minidoodle.application.AvailabilityService;
+import com.example.minidoodle.application.AvailabilityService.FreeTime;
+import com.example.minidoodle.application.AvailabilityService.UserAvailability;
+import com.example.minidoodle.application.Exceptions.BadRequest;
+import com.example.minidoodle.infrastructure.persistence.r2dbc.CalendarR2dbcRepository;
+import com.example.minidoodle.infrastructure.persistence.r2dbc.CalendarR2dbcRepository.CalendarRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.minidoodle.api.controller.AvailabilityController.NDJSON;
+import static com.example.minidoodle.api.controller.AvailabilityController.toResponse;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * Non-blocking {@code GET /api/v1/availability/stream} on its own port: a Reactor Netty server
+ * with a few event-loop threads, reading calendars through R2DBC. Same parameters and NDJSON
+ * output as the servlet endpoint. Up to {@code bufferedUsers} finished users are held ahead of
+ * the client; past that, rows are pulled from the database only as fast as the client reads the
+ * response. A slow client thus costs buffered output, not a thread, and releases its database
+ * connection as soon as its query is read unless it asked for more users than fit the buffer.
+ */
+public class ReactiveAvailabilityServer implements AutoCloseable {
+
+  private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+
+  private static final Logger log = LoggerFactory.getLogger(ReactiveAvailabilityServer.class);
+
+  private final AvailabilityService availability;
+  private final CalendarR2dbcRepository calendars;
+  private final ObjectMapper json;
+  private final int bufferedUsers;
+  private final AtomicInteger active = new AtomicInteger();
+  private final LoopResources loops;
+  private final DisposableServer server;
+
+  public ReactiveAvailabilityServer(AvailabilityService availability, CalendarR2dbcRepository calendars,
+                                    ObjectMapper json, MeterRegistry registry,
+                                    int port, int threads, int bufferedUsers) {
+    this.availability = availability;
+    this.calendars = calendars;
+    this.json = json;
+    this.bufferedUsers = bufferedUsers;
+
+    Gauge.builder("minidoodle.reactive.availability.active", active, AtomicInteger::get)
+        .description("Reactive availability responses in progress").register(registry);
+    Gauge.builder("minidoodle.reactive.r2dbc.connections", calendars, CalendarR2dbcRepository::idle)
+        .tag("state", "idle").register(registry);
+    Gauge.builder("minidoodle.reactive.r2dbc.connections", calendars, CalendarR2dbcRepository::acquired)
+        .tag("state", "acquired").register(registry);
+    Gauge.builder("minidoodle.reactive.r2dbc.connections", calendars, CalendarR2dbcRepository::pending)
+        .tag("state", "pending").register(registry);
+
+    var strategies = HandlerStrategies.builder()
+        .codecs(c -> c.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(json)))
+        .exceptionHandler(this::error)
+        .build();
+    var handler = RouterFunctions.toHttpHandler(
+        RouterFunctions.route(GET("/api/v1/availability/stream"), this::stream), strategies);
+
+    this.loops = LoopResources.create("reactive-http", threads, true);
+    this.server = HttpServer.create()
+        .port(port)
+        .runOn(loops)
+        .handle(new ReactorHttpHandlerAdapter(handler))
+        .bindNow();
+  }
+
+  private Mono<ServerResponse> stream(ServerRequest req) {
+    List<UUID> userIds;
+    Instant from;
+    Instant to;
+    AvailabilityFold fold;
+    try {
+      userIds = userIds(req);
+      from = instant(req, "from");
+      to = instant(req, "to");
+      fold = availability.fold(userIds, from, to);
+    } catch (BadRequest e) {
+      return ServerResponse.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(apiError(HttpStatus.BAD_REQUEST, e.getMessage(), req.path()));
+    }
+
+    List<UUID> ids = fold.userIds();
+    Flux<CalendarRow> rows;
+    if (ids.isEmpty()) rows = Flux.empty();
+    else if (availability.freeTime() == FreeTime.MATERIALIZED) rows = calendars.streamFreeAndBusy(ids, from, to);
+    else rows = calendars.streamSlots(ids, from, to);
+    Flux<AvailabilityChunk> body = rows
+        .<AvailabilityChunk>handle((r, sink) -> {
+          UserAvailability done = fold.row(r.userId(), r.startMicros(), r.endMicros(), r.busy());
+          if (done != null) sink.next(chunk(done));
+        })
+        .concatWith(Flux.defer(() -> Flux.fromIterable(fold.finish()).map(this::chunk)))
+        .concatWith(Mono.fromSupplier(() -> AvailabilityChunk.common(from, to, toResponse(fold.commonFree()))))
+        .limitRate(bufferedUsers)
+        .doOnSubscribe(s -> active.incrementAndGet())
+        .doFinally(s -> active.decrementAndGet());
+    return ServerResponse.ok().contentType(NDJSON_TYPE).body(body, AvailabilityChunk.class);
+  }
+
+  // Failures before the first line is written; later ones can only abort the response
+  private Mono<Void> error(ServerWebExchange exchange, Throwable e) {
+    ServerHttpResponse response = exchange.getResponse();
+    if (response.isCommitted()) return Mono.error(e);
+    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+    String message = "unexpected error";
+    if (e instanceof R2dbcTimeoutException) {
+      status = HttpStatus.SERVICE_UNAVAILABLE;
+      message = "no database connection available";
+    } else {
+      log.error("reactive availability request failed", e);
+    }
+    try {
+      byte[] body = json.writeValueAsBytes(apiError(status, message, exchange.getRequest().getPath().value()));
+      response.setStatusCode(status);
+      response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+      return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    } catch (JsonProcessingException jsonError) {
+      return Mono.error(e);
+    }
+  }
+
+  private static ApiError apiError(HttpStatus status, String message, String path) {
+    return new ApiError(Instant.now(), status.value(), status.getReasonPhrase(), message, path);
+  }
+
+  private AvailabilityChunk chunk(UserAvailability u) {
+    return AvailabilityChunk.user(u.userId(), toResponse(u.free()), toResponse(u.busy()));
+  }
+
+  // Repeated (userIds=a&userIds=b) or comma-separated (userIds=a,b), as in the servlet endpoints
+  private static List<UUID> userIds(ServerRequest req) {
+    List<String> values = req.queryParams().get("userIds");
+    if (values == null || values.isEmpty()) throw new BadRequest("userIds is required");
+    List<UUID> out = new ArrayList<>();
+    for (String value : values) {
+      for (String id : value.split(",")) {
+        if (id.isBlank()) continue;
+        try {
+          out.add(UUID.fromString(id.trim()));
+        } catch (IllegalArgumentException e) {
+          throw new BadRequest("userIds: invalid UUID " + id);
+        }
+      }
+    }
+    return out;
+  }
+
+  private static Instant instant(ServerRequest req, String name) {
+    String value = req.queryParam(name).orElseThrow(() -> new BadRequest(name + " is required"));
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new BadRequest(name + ": invalid ISO-8601 instant " + value);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.disposeNow();
+    loops.dispose();
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.domain.EpochIntervalEngine;
+import com.example.minidoodle.domain.InstantIntervalEngine;
+import com.example.minidoodle.domain.IntervalEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AvailabilityConfig {
+
+  /** {@code epoch} (packed primitive arrays, default) or {@code instant} (Interval records). */
+  @Bean
+  IntervalEngine intervalEngine(@Value("${minidoodle.availability.engine:epoch}") String engine,
+                                ForkJoinPool availabilityPool) {
+    return switch (engine) {
+      case "epoch" -> new EpochIntervalEngine(availabilityPool);
+      case "instant" -> new InstantIntervalEngine();
+      default -> throw new IllegalArgumentException("unknown minidoodle.availability.engine: " + engine);
+    };
+  }
+
+  /** Dedicated pool for parallel common-free computation, kept off the JVM-wide common pool. */
+  @Bean(destroyMethod = "shutdown")
+  ForkJoinPool availabilityPool(@Value("${minidoodle.availability.parallelism:0}") int parallelism) {
+    return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.application.AvailabilityService.UserAvailability;
+import com.example.minidoodle.domain.IntervalEngine;
+import com.example.minidoodle.domain.IntervalSet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Folds calendar rows ordered by (user, start) into per-user free/busy and the common free time,
+ * holding only the current user's intervals. Not thread-safe; one fold per request.
+ */
+public final class AvailabilityFold {
+
+  private final IntervalEngine engine;
+  private final long fromMicros;
+  private final long toMicros;
+  private final Set<UUID> pending;
+  private UUID current;
+  private IntervalSet.Builder available;
+  private IntervalSet.Builder busy;
+  private IntervalSet common;
+
+  AvailabilityFold(IntervalEngine engine, List<UUID> userIds, long fromMicros, long toMicros) {
+    this.engine = engine;
+    this.fromMicros = fromMicros;
+    this.toMicros = toMicros;
+    this.pending = new LinkedHashSet<>(userIds);
+  }
+
+  /** Requested users, in request order and without duplicates. */
+  public List<UUID> userIds() {
+    return List.copyOf(pending);
+  }
+
+  /** Adds one row, clipped to the range; returns the previous user once a row of the next one arrives, else null. */
+  public UserAvailability row(UUID userId, long startMicros, long endMicros, boolean isBusy) {
+    UserAvailability done = userId.equals(current) ? null : next(userId);
+    (isBusy ? busy : available).add(Math.max(startMicros, fromMicros), Math.min(endMicros, toMicros));
+    return done;
+  }
+
+  /** The last user with rows, then every requested user without rows, in request order. */
+  public List<UserAvailability> finish() {
+    List<UserAvailability> out = new ArrayList<>();
+    UserAvailability last = next(null);
+    if (last != null) out.add(last);
+    for (UUID userId : List.copyOf(pending)) {
+      next(userId);
+      out.add(next(null));
+    }
+    return out;
+  }
+
+  /** Common free time of every user emitted so far; complete after {@link #finish()}. */
+  public IntervalSet commonFree() {
+    return common == null ? engine.intersectAll(List.of()) : common;
+  }
+
+  // Completes the current user (if any) and starts collecting rows for userId.
+  private UserAvailability next(UUID userId) {
+    UserAvailability done = null;
+    if (current != null) {
+      IntervalSet busySet = busy.build();
+      IntervalSet free = engine.subtract(available.build(), busySet);
+      common = common == null ? free : engine.intersectAll(List.of(common, free));
+      pending.remove(current);
+      done = new UserAvailability(current, free, busySet);
+    }
+    current = userId;
+    available = engine.builder(16);
+    busy = engine.builder(16);
+    return done;
+  }
+}
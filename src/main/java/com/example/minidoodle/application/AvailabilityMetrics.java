@@ -0,0 +1,65 @@
+package com.example.minidoodle.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers and size summaries for availability requests. Stages: {@code fetch} (calendar
+ * cache + DB), {@code group} (clipping slots per user), {@code subtract}, {@code intersect} and
+ * {@code map} (DTO mapping in the controller). Meters are registered once and shared.
+ */
+@Component
+public class AvailabilityMetrics {
+
+  private final Timer fetch;
+  private final Timer group;
+  private final Timer subtract;
+  private final Timer intersect;
+  private final Timer map;
+  private final DistributionSummary users;
+  private final DistributionSummary slots;
+  private final DistributionSummary intervals;
+
+  public AvailabilityMetrics(MeterRegistry registry) {
+    this.fetch = stage(registry, "fetch");
+    this.group = stage(registry, "group");
+    this.subtract = stage(registry, "subtract");
+    this.intersect = stage(registry, "intersect");
+    this.map = stage(registry, "map");
+    this.users = summary(registry, "minidoodle.availability.users", "Users per availability request");
+    this.slots = summary(registry, "minidoodle.availability.slots", "Slots in range per availability request");
+    this.intervals = summary(registry, "minidoodle.availability.intervals",
+        "Intervals returned per availability request (per-user free and busy, plus common free)");
+  }
+
+  private static Timer stage(MeterRegistry registry, String stage) {
+    return Timer.builder("minidoodle.availability.stage")
+        .tag("stage", stage)
+        .description("Time spent per availability request in each stage")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private static DistributionSummary summary(MeterRegistry registry, String name, String description) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  void fetch(long nanos) { fetch.record(nanos, TimeUnit.NANOSECONDS); }
+  void group(long nanos) { group.record(nanos, TimeUnit.NANOSECONDS); }
+  void subtract(long nanos) { subtract.record(nanos, TimeUnit.NANOSECONDS); }
+  void intersect(long nanos) { intersect.record(nanos, TimeUnit.NANOSECONDS); }
+  public void map(long nanos) { map.record(nanos, TimeUnit.NANOSECONDS); }
+
+  void sizes(int users, long slots, long intervals) {
+    this.users.record(users);
+    this.slots.record(slots);
+    this.intervals.record(intervals);
+  }
+}
@@ -1,130 +1,325 @@
 package com.example.minidoodle.application;
 
-import com.example.minidoodle.domain.Interval;
+import com.example.minidoodle.domain.AvailabilityBitmap;
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.IntervalEngine;
+import com.example.minidoodle.domain.IntervalSet;
+import com.example.minidoodle.domain.IntersectStrategy;
 import com.example.minidoodle.domain.SlotStatus;
-import com.example.minidoodle.domain.Calendar;
-import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
-import com.example.minidoodle.infrastructure.persistence.repo.TimeSlotRepository;
+import com.example.minidoodle.domain.SlotTimeline;
+import com.example.minidoodle.infrastructure.cache.UserCalendarCache;
+import com.example.minidoodle.infrastructure.persistence.jdbc.CalendarVersionJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.jdbc.TimeSlotJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.jdbc.TimeSlotJdbcRepository.SlotRowHandler;
+import com.example.minidoodle.infrastructure.persistence.jdbc.UserFreeIntervalJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.routing.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+
+import static com.example.minidoodle.application.Exceptions.*;
 
 @Service
 public class AvailabilityService {
 
-  private final TimeSlotRepository slots;
+  private final TimeSlotJdbcRepository jdbcSlots;
+  private final UserFreeIntervalJdbcRepository freeIntervals;
+  private final CalendarVersionJdbcRepository versions;
+  private final UserCalendarCache cache;
+  private final ReadYourWrites readYourWrites;
+  private final TransactionTemplate readOnlyTx;
+  private final IntervalEngine engine;
+  private final AvailabilityMetrics metrics;
+  private final int kWayMinUsers;
+  private final int parallelMinUsers;
+  private final int maxBuckets;
+  private final FreeTime freeTime;
+
+  /**
+   * Where free time comes from. MATERIALIZED reads {@code user_free_intervals} next to BUSY slots;
+   * COMPUTED reads every slot and subtracts BUSY from AVAILABLE per request.
+   */
+  public enum FreeTime { MATERIALIZED, COMPUTED }
 
-  public AvailabilityService(TimeSlotRepository slots) {
-    this.slots = slots;
+  public AvailabilityService(TimeSlotJdbcRepository jdbcSlots,
+                             UserFreeIntervalJdbcRepository freeIntervals,
+                             CalendarVersionJdbcRepository versions,
+                             UserCalendarCache cache,
+                             ReadYourWrites readYourWrites,
+                             PlatformTransactionManager txManager,
+                             IntervalEngine engine,
+                             AvailabilityMetrics metrics,
+                             @Value("${minidoodle.availability.k-way-min-users:8}") int kWayMinUsers,
+                             @Value("${minidoodle.availability.parallel-min-users:128}") int parallelMinUsers,
+                             @Value("${minidoodle.availability.max-buckets:200000}") int maxBuckets,
+                             @Value("${minidoodle.availability.free-time:materialized}") FreeTime freeTime) {
+    this.jdbcSlots = jdbcSlots;
+    this.freeIntervals = freeIntervals;
+    this.versions = versions;
+    this.cache = cache;
+    this.readYourWrites = readYourWrites;
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.engine = engine;
+    this.metrics = metrics;
+    this.kWayMinUsers = kWayMinUsers;
+    this.parallelMinUsers = parallelMinUsers;
+    this.maxBuckets = maxBuckets;
+    this.freeTime = freeTime;
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * Per-user free/busy and common free time in [from, to). Intervals stay in the engine's
+   * representation; converting them to {@code Interval}s or DTOs is left to the caller.
+   * Users with a cached calendar covering the range are served without a database round trip. The
+   * result carries the calendar versions its data was read at.
+   */
   public AvailabilityResult availability(List<UUID> userIds, Instant from, Instant to) {
+    return availability(userIds, from, to, null);
+  }
+
+  /**
+   * Like {@link #availability(List, Instant, Instant)}, but with a non-null {@code granularity}
+   * free time is quantized into buckets of that size starting at {@code from} and intersected as
+   * bitsets (see {@link AvailabilityBitmap}). A bucket counts as free only if it is free for its
+   * whole length, so free intervals may be shorter than the exact ones. Busy intervals are exact.
+   */
+  public AvailabilityResult availability(List<UUID> userIds, Instant from, Instant to, Duration granularity) {
+    return availability(userIds, from, to, granularity, null);
+  }
+
+  /**
+   * Like {@link #availability(List, Instant, Instant, Duration)} for callers that already read the
+   * users' {@link #versions}: cached calendars at any other version are reloaded.
+   */
+  public AvailabilityResult availability(List<UUID> userIds, Instant from, Instant to, Duration granularity,
+                                         Map<UUID, Long> currentVersions) {
+    requireValidRange(from, to);
+    from = from.truncatedTo(ChronoUnit.MICROS);
+    to = to.truncatedTo(ChronoUnit.MICROS);
+
     if (userIds == null || userIds.isEmpty()) {
-      return new AvailabilityResult(from, to, List.of(), List.of());
+      return new AvailabilityResult(from, to, List.of(), engine.intersectAll(List.of()), Map.of());
     }
 
-    // Fetch all slots for all users in one DB query
-    List<TimeSlotEntity> all = slots.findAllUsersInRange(userIds, from, to);
+    long fromMicros = EpochMicros.of(from);
+    long toMicros = EpochMicros.of(to);
+    long bucketMicros = granularity == null ? 0 : requireValidGranularity(granularity, fromMicros, toMicros);
 
-    Map<UUID, List<TimeSlotEntity>> byUser = all.stream()
-        .collect(Collectors.groupingBy(s -> s.getUser().getId()));
+    long t0 = System.nanoTime();
+    Instant rangeFrom = from, rangeTo = to;
+    Calendars calendars = readYourWrites.read(userIds, () -> {
+      Map<UUID, Long> current = currentVersions == null && cache.verifyVersions()
+          ? readOnlyTx.execute(status -> versions.versions(userIds))
+          : currentVersions;
+      return Calendars.of(cache.getAll(userIds, rangeFrom, rangeTo, current, this::load));
+    });
+    Map<UUID, SlotTimeline> timelines = calendars.timelines();
+    metrics.fetch(System.nanoTime() - t0);
+    if (granularity != null) return quantized(userIds, calendars, from, to, bucketMicros);
 
-    List<UserAvailability> perUser = new ArrayList<>();
+    List<UserAvailability> perUser = new ArrayList<>(userIds.size());
+    List<IntervalSet> freeSets = new ArrayList<>(userIds.size());
+    long groupNanos = 0, subtractNanos = 0, slots = 0, intervals = 0;
 
     for (UUID userId : userIds) {
-      List<TimeSlotEntity> userSlots = byUser.getOrDefault(userId, List.of());
-
-      List<Interval> available = userSlots.stream()
-          .filter(s -> s.getStatus() == SlotStatus.AVAILABLE)
-          .map(s -> new Interval(max(s.getStartTs(), from), min(s.getEndTs(), to)))
-          .sorted(Comparator.comparing(Interval::start))
-          .toList();
+      long t1 = System.nanoTime();
+      SlotTimeline timeline = timelines.get(userId);
+      IntervalSet.Builder available = engine.builder(16);
+      IntervalSet.Builder busy = engine.builder(16);
 
-      List<Interval> busy = userSlots.stream()
-          .filter(s -> s.getStatus() == SlotStatus.BUSY)
-          .map(s -> new Interval(max(s.getStartTs(), from), min(s.getEndTs(), to)))
-          .sorted(Comparator.comparing(Interval::start))
-          .toList();
-
-      List<Interval> free = subtract(available, busy);
+      for (int i = timeline.firstEndingAfter(fromMicros); i < timeline.size() && timeline.startMicros(i) < toMicros; i++) {
+        long start = Math.max(timeline.startMicros(i), fromMicros);
+        long end = Math.min(timeline.endMicros(i), toMicros);
+        (timeline.status(i) == SlotStatus.AVAILABLE ? available : busy).add(start, end);
+        slots++;
+      }
+      IntervalSet availableSet = available.build();
+      IntervalSet busySet = busy.build();
+      long t2 = System.nanoTime();
 
-      // Domain "Calendar" snapshot
-      @SuppressWarnings("unused")
-      Calendar.Snapshot snapshot = new Calendar.Snapshot(userId, from, to, available, busy, free);
+      // materialized free time is already disjoint from busy
+      IntervalSet free = freeTime == FreeTime.MATERIALIZED ? availableSet : engine.subtract(availableSet, busySet);
+      subtractNanos += System.nanoTime() - t2;
+      groupNanos += t2 - t1;
 
-      perUser.add(new UserAvailability(userId, free, busy));
+      perUser.add(new UserAvailability(userId, free, busySet));
+      freeSets.add(free);
+      intervals += free.size() + busySet.size();
     }
+    metrics.group(groupNanos);
+    metrics.subtract(subtractNanos);
 
     // Common free = intersection across all users
-    List<Interval> commonFree = intersectAll(perUser.stream().map(UserAvailability::free).toList());
+    long t3 = System.nanoTime();
+    IntervalSet commonFree = engine.intersectAll(freeSets, strategyFor(freeSets.size()));
+    metrics.intersect(System.nanoTime() - t3);
+    metrics.sizes(userIds.size(), slots, intervals + commonFree.size());
 
-    return new AvailabilityResult(from, to, perUser, commonFree);
+    return new AvailabilityResult(from, to, perUser, commonFree, calendars.versions());
   }
 
-  // AVAILABLE - BUSY (both lists are sorted, non-overlapping within themselves)
-  static List<Interval> subtract(List<Interval> available, List<Interval> busy) {
-    List<Interval> out = new ArrayList<>();
-    int j = 0;
+  private AvailabilityResult quantized(List<UUID> userIds, Calendars calendars,
+                                      Instant from, Instant to, long bucketMicros) {
+    long fromMicros = EpochMicros.of(from);
+    long toMicros = EpochMicros.of(to);
 
-    for (Interval a : available) {
-      Instant cur = a.start();
-      while (j < busy.size() && !busy.get(j).end().isAfter(a.start())) j++; // busy ends before a starts
+    List<UserAvailability> perUser = new ArrayList<>(userIds.size());
+    AvailabilityBitmap common = null;
+    AvailabilityBitmap user = AvailabilityBitmap.empty(fromMicros, toMicros, bucketMicros);
+    long groupNanos = 0, intersectNanos = 0, slots = 0, intervals = 0;
 
-      int k = j;
-      while (k < busy.size() && busy.get(k).start().isBefore(a.end())) {
-        Interval b = busy.get(k);
+    for (UUID userId : userIds) {
+      long t0 = System.nanoTime();
+      SlotTimeline timeline = calendars.timelines().get(userId);
+      IntervalSet.Builder busy = engine.builder(16);
+      user.clear();
 
-        if (b.start().isAfter(cur)) {
-          out.add(new Interval(cur, min(b.start(), a.end())));
-        }
-        if (b.end().isAfter(cur)) {
-          cur = max(cur, b.end());
+      // free buckets first, then clear every bucket a busy slot touches
+      int first = timeline.firstEndingAfter(fromMicros);
+      for (int i = first; i < timeline.size() && timeline.startMicros(i) < toMicros; i++) {
+        if (timeline.status(i) == SlotStatus.AVAILABLE) user.markFree(timeline.startMicros(i), timeline.endMicros(i));
+        slots++;
+      }
+      for (int i = first; i < timeline.size() && timeline.startMicros(i) < toMicros; i++) {
+        if (timeline.status(i) == SlotStatus.BUSY) {
+          user.markBusy(timeline.startMicros(i), timeline.endMicros(i));
+          busy.add(Math.max(timeline.startMicros(i), fromMicros), Math.min(timeline.endMicros(i), toMicros));
         }
-        if (!a.end().isAfter(cur)) break;
-        k++;
       }
 
-      if (a.end().isAfter(cur)) {
-        out.add(new Interval(cur, a.end()));
-      }
+      var free = user.toIntervals(engine.builder(16));
+      var busySet = busy.build();
+      perUser.add(new UserAvailability(userId, free, busySet));
+      intervals += free.size() + busySet.size();
+      long t1 = System.nanoTime();
+      groupNanos += t1 - t0;
+
+      if (common == null) common = user.copy();
+      else common.and(user);
+      intersectNanos += System.nanoTime() - t1;
     }
-    return out;
+
+    long t2 = System.nanoTime();
+    IntervalSet commonFree = common.toIntervals(engine.builder(16));
+    metrics.group(groupNanos);
+    metrics.intersect(intersectNanos + System.nanoTime() - t2);
+    metrics.sizes(userIds.size(), slots, intervals + commonFree.size());
+
+    return new AvailabilityResult(from, to, perUser, commonFree, calendars.versions());
   }
 
-  static List<Interval> intersectAll(List<List<Interval>> lists) {
-    if (lists.isEmpty()) return List.of();
-    List<Interval> acc = lists.get(0);
-    for (int i = 1; i < lists.size(); i++) {
-      acc = intersectTwo(acc, lists.get(i));
-      if (acc.isEmpty()) break;
+  /** Current calendar versions of {@code userIds}, read the way {@link #availability} reads them. */
+  public Map<UUID, Long> versions(List<UUID> userIds) {
+    if (userIds == null || userIds.isEmpty()) return Map.of();
+    return readYourWrites.read(userIds, () -> readOnlyTx.execute(status -> versions.versions(userIds)));
+  }
+
+  private long requireValidGranularity(Duration granularity, long fromMicros, long toMicros) {
+    long bucketMicros = granularity.toNanos() / 1000;
+    if (bucketMicros <= 0) throw new BadRequest("granularityMinutes must be > 0");
+    if (AvailabilityBitmap.bucketCount(fromMicros, toMicros, bucketMicros) > maxBuckets) {
+      throw new BadRequest("range is too large for this granularity (max " + maxBuckets + " buckets)");
     }
-    return acc;
+    return bucketMicros;
   }
 
-  static List<Interval> intersectTwo(List<Interval> a, List<Interval> b) {
-    List<Interval> out = new ArrayList<>();
-    int i = 0, j = 0;
-    while (i < a.size() && j < b.size()) {
-      Interval x = a.get(i);
-      Interval y = b.get(j);
+  /**
+   * Streaming variant of {@link #availability}: each user's free/busy is handed to {@code sink}
+   * as soon as that user's rows have been read from a forward-only cursor, so only one user's
+   * slots are held at a time. Users without slots in range are emitted last. Returns the common
+   * free time. Reads the database directly; the calendar cache is not consulted.
+   */
+  @Transactional(readOnly = true)
+  public IntervalSet streamAvailability(List<UUID> userIds, Instant from, Instant to, Consumer<UserAvailability> sink) {
+    AvailabilityFold fold = fold(userIds, from, to);
+    if (fold.userIds().isEmpty()) return fold.commonFree();
 
-      Instant start = max(x.start(), y.start());
-      Instant end = min(x.end(), y.end());
-      if (end.isAfter(start)) out.add(new Interval(start, end));
+    readYourWrites.read(fold.userIds(), () -> {
+      streamCalendars(fold.userIds(), from, to, (userId, start, end, busy) -> {
+        UserAvailability done = fold.row(userId, start, end, busy);
+        if (done != null) sink.accept(done);
+      });
+      return null;
+    });
+    fold.finish().forEach(sink);
+    return fold.commonFree();
+  }
 
-      if (x.end().isBefore(y.end())) i++;
-      else j++;
+  /**
+   * A fold of calendar rows (ordered by user, then start) within [from, to) into the same per-user
+   * free/busy and common free time as {@link #streamAvailability}, for callers that read the rows
+   * themselves. Validates the range.
+   */
+  public AvailabilityFold fold(List<UUID> userIds, Instant from, Instant to) {
+    requireValidRange(from, to);
+    return new AvailabilityFold(engine, userIds == null ? List.of() : userIds,
+        EpochMicros.of(from.truncatedTo(ChronoUnit.MICROS)), EpochMicros.of(to.truncatedTo(ChronoUnit.MICROS)));
+  }
+
+  public FreeTime freeTime() {
+    return freeTime;
+  }
+
+  /** Rejects empty or inverted ranges once truncated to the microsecond precision of stored slots. */
+  public static void requireValidRange(Instant from, Instant to) {
+    if (from == null || to == null || !to.truncatedTo(ChronoUnit.MICROS).isAfter(from.truncatedTo(ChronoUnit.MICROS))) {
+      throw new BadRequest("to must be after from");
     }
-    return out;
   }
 
-  static Instant max(Instant a, Instant b) { return a.isAfter(b) ? a : b; }
-  static Instant min(Instant a, Instant b) { return a.isBefore(b) ? a : b; }
+  // Fetch all slots for all missing users in one DB query; rows come back ordered by (user, start).
+  // Versions first, in the same transaction, so the data is never older than the versions.
+  private Map<UUID, UserCalendarCache.Calendar> load(List<UUID> userIds, Instant from, Instant to) {
+    return readOnlyTx.execute(status -> {
+      Map<UUID, Long> current = versions.versions(userIds);
+      Map<UUID, SlotTimeline.Builder> byUser = new HashMap<>();
+      streamCalendars(userIds, from, to, (userId, start, end, busy) ->
+          byUser.computeIfAbsent(userId, id -> SlotTimeline.builder(16))
+              .add(start, end, busy ? SlotStatus.BUSY : SlotStatus.AVAILABLE));
+      Map<UUID, UserCalendarCache.Calendar> out = new HashMap<>();
+      for (UUID id : userIds) {
+        var builder = byUser.get(id);
+        out.put(id, new UserCalendarCache.Calendar(current.get(id),
+            builder == null ? SlotTimeline.EMPTY : builder.build()));
+      }
+      return out;
+    });
+  }
+
+  // Rows ordered by (user, start): free intervals or AVAILABLE slots, and BUSY slots
+  private void streamCalendars(List<UUID> userIds, Instant from, Instant to, SlotRowHandler handler) {
+    if (freeTime == FreeTime.MATERIALIZED) freeIntervals.streamUsersInRange(userIds, from, to, handler);
+    else jdbcSlots.streamUsersInRange(userIds, from, to, handler);
+  }
+
+  IntersectStrategy strategyFor(int users) {
+    if (users >= parallelMinUsers) return IntersectStrategy.PARALLEL;
+    if (users >= kWayMinUsers) return IntersectStrategy.K_WAY;
+    return IntersectStrategy.FOLD;
+  }
+
+  public record UserAvailability(UUID userId, IntervalSet free, IntervalSet busy) {}
+  public record AvailabilityResult(Instant from, Instant to, List<UserAvailability> users, IntervalSet commonFree,
+                                   Map<UUID, Long> versions) {}
 
-  public record UserAvailability(UUID userId, List<Interval> free, List<Interval> busy) {}
-  public record AvailabilityResult(Instant from, Instant to, List<UserAvailability> users, List<Interval> commonFree) {}
+  private record Calendars(Map<UUID, Long> versions, Map<UUID, SlotTimeline> timelines) {
+    static Calendars of(Map<UUID, UserCalendarCache.Calendar> calendars) {
+      Map<UUID, Long> versions = new HashMap<>();
+      Map<UUID, SlotTimeline> timelines = new HashMap<>();
+      calendars.forEach((id, c) -> {
+        versions.put(id, c.version());
+        timelines.put(id, c.timeline());
+      });
+      return new Calendars(versions, timelines);
+    }
+  }
 }
@@ -0,0 +1,28 @@
+package com.example.minidoodle.application;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published by the write services once a user's slots have been changed in the current
+ * transaction. Listeners that must only see committed data use
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ */
+public record CalendarChangedEvent(List<Change> changes) {
+
+  /** [from, to) of {@code userId}'s calendar was affected. */
+  public record Change(UUID userId, Instant from, Instant to) {}
+
+  public static CalendarChangedEvent of(UUID userId, Instant from, Instant to) {
+    return new CalendarChangedEvent(List.of(new Change(userId, from, to)));
+  }
+
+  public Set<UUID> userIds() {
+    Set<UUID> ids = new LinkedHashSet<>();
+    for (Change c : changes) ids.add(c.userId());
+    return ids;
+  }
+}
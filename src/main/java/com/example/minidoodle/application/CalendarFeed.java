@@ -0,0 +1,246 @@
+package com.example.minidoodle.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.minidoodle.application.Exceptions.*;
+
+/**
+ * Node-local feed of committed calendar changes for subscribers watching a set of users.
+ *
+ * <p>Each subscription has a bounded queue holding at most one pending change per user: a newer
+ * change to a user that is still queued widens the queued window instead of adding an entry.
+ * When more than {@code queueCapacity} users are pending, the queue is dropped and the subscriber
+ * is told to resync instead. Queues are drained on a small dispatch pool, never on the committing
+ * thread, so a slow subscriber cannot hold up writers.
+ */
+@Component
+public class CalendarFeed implements AutoCloseable {
+
+  /** Receives a subscription's events on a dispatch thread, one call at a time. */
+  public interface Listener {
+    /** Called first, once the subscription is registered; no change is delivered before it returns. */
+    void onReady() throws Exception;
+
+    /** Coalesced changes in arrival order. {@code resync}: changes were dropped; refetch every subscribed user. */
+    void onChanges(List<CalendarChangedEvent.Change> changes, boolean resync) throws Exception;
+
+    /** Called every heartbeat interval while subscribed, to detect dead connections. */
+    void onHeartbeat() throws Exception;
+  }
+
+  private final Map<UUID, Set<Subscription>> byUser = new ConcurrentHashMap<>();
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final int queueCapacity;
+  private final int maxUsers;
+  private final ExecutorService dispatch;
+  private final ScheduledExecutorService heartbeats;
+  private final Counter queued;
+  private final Counter coalesced;
+  private final Counter resyncs;
+
+  public CalendarFeed(@Value("${minidoodle.feed.queue-capacity:256}") int queueCapacity,
+                      @Value("${minidoodle.feed.max-users:1000}") int maxUsers,
+                      @Value("${minidoodle.feed.dispatch-threads:2}") int dispatchThreads,
+                      @Value("${minidoodle.feed.heartbeat:15s}") Duration heartbeat,
+                      MeterRegistry registry) {
+    this.queueCapacity = queueCapacity;
+    this.maxUsers = maxUsers;
+    this.dispatch = Executors.newFixedThreadPool(dispatchThreads, daemon("calendar-feed"));
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("calendar-feed-heartbeat"));
+    long heartbeatMillis = heartbeat.toMillis();
+    heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+    Gauge.builder("minidoodle.calendar.feed.subscriptions", subscriptions, Set::size)
+        .description("Open calendar change subscriptions on this node").register(registry);
+    this.queued = Counter.builder("minidoodle.calendar.feed.changes").tag("result", "queued")
+        .description("Changes queued for a subscriber").register(registry);
+    this.coalesced = Counter.builder("minidoodle.calendar.feed.changes").tag("result", "coalesced")
+        .description("Changes merged into one already queued for the same user").register(registry);
+    this.resyncs = Counter.builder("minidoodle.calendar.feed.changes").tag("result", "resync")
+        .description("Subscriber queues dropped on overflow and replaced by a resync").register(registry);
+  }
+
+  /**
+   * Starts delivering committed changes to any of {@code userIds}, after {@link Listener#onReady}
+   * on the same dispatch path; close the subscription to stop.
+   */
+  public Subscription subscribe(Collection<UUID> userIds, Listener listener) {
+    Set<UUID> users = new LinkedHashSet<>(userIds == null ? List.of() : userIds);
+    if (users.isEmpty()) throw new BadRequest("userIds must not be empty");
+    if (users.size() > maxUsers) throw new BadRequest("at most " + maxUsers + " userIds per subscription");
+
+    var subscription = new Subscription(users, listener);
+    subscriptions.add(subscription);
+    for (UUID id : users) {
+      byUser.compute(id, (k, set) -> {
+        if (set == null) set = ConcurrentHashMap.newKeySet();
+        set.add(subscription);
+        return set;
+      });
+    }
+    subscription.schedule();
+    return subscription;
+  }
+
+  @TransactionalEventListener
+  void onCalendarChanged(CalendarChangedEvent event) {
+    for (var change : event.changes()) {
+      Set<Subscription> subscribers = byUser.get(change.userId());
+      if (subscribers == null) continue;
+      for (Subscription s : subscribers) s.offer(change);
+    }
+  }
+
+  private void heartbeat() {
+    for (Subscription s : subscriptions) s.heartbeat();
+  }
+
+  @Override
+  public void close() {
+    heartbeats.shutdownNow();
+    dispatch.shutdownNow();
+  }
+
+  private static ThreadFactory daemon(String name) {
+    return r -> {
+      Thread t = new Thread(r, name);
+      t.setDaemon(true);
+      return t;
+    };
+  }
+
+  public final class Subscription implements AutoCloseable {
+
+    private final Set<UUID> userIds;
+    private final Listener listener;
+    // guarded by this
+    private final LinkedHashMap<UUID, CalendarChangedEvent.Change> pending = new LinkedHashMap<>();
+    private boolean readyDue = true;
+    private boolean resync;
+    private boolean scheduled;
+    private boolean heartbeatDue;
+    private boolean closed;
+
+    private Subscription(Set<UUID> userIds, Listener listener) {
+      this.userIds = userIds;
+      this.listener = listener;
+    }
+
+    private void offer(CalendarChangedEvent.Change change) {
+      synchronized (this) {
+        if (closed) return;
+        if (resync) {
+          coalesced.increment();
+        } else {
+          var queuedChange = pending.get(change.userId());
+          if (queuedChange != null) {
+            pending.put(change.userId(), new CalendarChangedEvent.Change(change.userId(),
+                min(queuedChange.from(), change.from()), max(queuedChange.to(), change.to())));
+            coalesced.increment();
+          } else if (pending.size() >= queueCapacity) {
+            pending.clear();
+            resync = true;
+            resyncs.increment();
+          } else {
+            pending.put(change.userId(), change);
+            queued.increment();
+          }
+        }
+      }
+      schedule();
+    }
+
+    private void heartbeat() {
+      synchronized (this) {
+        if (closed) return;
+        heartbeatDue = true;
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      synchronized (this) {
+        if (scheduled || closed) return;
+        scheduled = true;
+      }
+      dispatch.execute(this::drain);
+    }
+
+    // Runs on a dispatch thread; at most one drain per subscription is scheduled at a time.
+    private void drain() {
+      while (true) {
+        List<CalendarChangedEvent.Change> changes;
+        boolean ready;
+        boolean dropped;
+        boolean ping;
+        synchronized (this) {
+          if (closed || (!readyDue && pending.isEmpty() && !resync && !heartbeatDue)) {
+            scheduled = false;
+            return;
+          }
+          ready = readyDue;
+          readyDue = false;
+          if (ready) {
+            // anything queued meanwhile goes out on the next round
+            changes = List.of();
+            dropped = false;
+            ping = false;
+          } else {
+            changes = new ArrayList<>(pending.values());
+            dropped = resync;
+            ping = heartbeatDue && changes.isEmpty() && !dropped;
+            pending.clear();
+            resync = false;
+            heartbeatDue = false;
+          }
+        }
+        try {
+          if (ready) listener.onReady();
+          else if (ping) listener.onHeartbeat();
+          else listener.onChanges(changes, dropped);
+        } catch (Exception e) {
+          close();
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (closed) return;
+        closed = true;
+        pending.clear();
+      }
+      for (UUID id : userIds) {
+        byUser.computeIfPresent(id, (k, set) -> {
+          set.remove(this);
+          return set.isEmpty() ? null : set;
+        });
+      }
+      subscriptions.remove(this);
+    }
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static Instant max(Instant a, Instant b) {
+    return a.isAfter(b) ? a : b;
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.infrastructure.persistence.jdbc.UserFreeIntervalJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.repo.TimeSlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code user_free_intervals} in step with slot writes: right before the writing transaction
+ * commits, the windows named by its {@link CalendarChangedEvent}s are recomputed, so the stored
+ * free time commits (or rolls back) together with the slots. The same call bumps the users'
+ * {@code calendar_versions}, which conditional GETs build their ETags from.
+ */
+@Component
+public class FreeIntervalMaintainer {
+
+  private final TimeSlotRepository slots;
+  private final UserFreeIntervalJdbcRepository freeIntervals;
+  private final Timer refresh;
+
+  public FreeIntervalMaintainer(TimeSlotRepository slots, UserFreeIntervalJdbcRepository freeIntervals,
+                                MeterRegistry registry) {
+    this.slots = slots;
+    this.freeIntervals = freeIntervals;
+    this.refresh = Timer.builder("minidoodle.free.intervals.refresh")
+        .description("Time spent recomputing changed free intervals before commit")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  void onCalendarChanged(CalendarChangedEvent event) {
+    long t0 = System.nanoTime();
+    // slot entities changed through JPA must be visible to the refresh
+    slots.flush();
+
+    // one window per user and run of overlapping or touching changes
+    List<CalendarChangedEvent.Change> changes = new ArrayList<>(event.changes());
+    changes.sort(Comparator.comparing(CalendarChangedEvent.Change::userId)
+        .thenComparing(CalendarChangedEvent.Change::from));
+    int n = 0;
+    UUID[] userIds = new UUID[changes.size()];
+    long[] from = new long[changes.size()];
+    long[] to = new long[changes.size()];
+    for (var c : changes) {
+      long start = EpochMicros.of(c.from());
+      long end = ceilMicros(c.to());
+      if (n > 0 && userIds[n - 1].equals(c.userId()) && start <= to[n - 1]) {
+        to[n - 1] = Math.max(to[n - 1], end);
+      } else {
+        userIds[n] = c.userId();
+        from[n] = start;
+        to[n++] = end;
+      }
+    }
+    freeIntervals.refresh(Arrays.copyOf(userIds, n), Arrays.copyOf(from, n), Arrays.copyOf(to, n));
+    refresh.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+  }
+
+  // Stored bounds are rounded to microseconds, so a window end is rounded up
+  private static long ceilMicros(Instant instant) {
+    long micros = EpochMicros.of(instant);
+    return instant.equals(instant.truncatedTo(ChronoUnit.MICROS)) ? micros : micros + 1;
+  }
+}
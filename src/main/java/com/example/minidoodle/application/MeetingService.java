@@ -1,18 +1,33 @@
 package com.example.minidoodle.application;
 
+import com.example.minidoodle.application.SchedulingMetrics.ConflictReason;
 import com.example.minidoodle.domain.SlotStatus;
 import com.example.minidoodle.infrastructure.persistence.entity.MeetingEntity;
 import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
+import com.example.minidoodle.infrastructure.persistence.entity.UserEntity;
+import com.example.minidoodle.infrastructure.persistence.jdbc.MeetingJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.jdbc.MeetingRow;
+import com.example.minidoodle.infrastructure.persistence.jdbc.SlotRow;
+import com.example.minidoodle.infrastructure.persistence.jdbc.TimeSlotJdbcRepository;
 import com.example.minidoodle.infrastructure.persistence.repo.MeetingRepository;
 import com.example.minidoodle.infrastructure.persistence.repo.TimeSlotRepository;
 import com.example.minidoodle.infrastructure.persistence.repo.UserRepository;
-import org.springframework.dao.DataIntegrityViolationException;
+import com.example.minidoodle.infrastructure.persistence.routing.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -22,16 +37,52 @@ import static com.example.minidoodle.application.Exceptions.*;
 public class MeetingService {
 
   private final MeetingRepository meetings;
+  private final MeetingJdbcRepository jdbcMeetings;
   private final TimeSlotRepository slots;
+  private final TimeSlotJdbcRepository jdbcSlots;
   private final UserRepository users;
   private final UserService userService;
+  private final ApplicationEventPublisher events;
+  private final SchedulingMetrics metrics;
+  private final ReadYourWrites readYourWrites;
+  private final TransactionTemplate readOnlyTx;
+  private final TransactionTemplate writeTx;
+  private final BookingMode bookingMode;
+  private final int maxBatch;
+  private final int bulkMaxItems;
+  private final int bulkChunkSize;
 
-  public MeetingService(MeetingRepository meetings, TimeSlotRepository slots,
-                        UserRepository users, UserService userService) {
+  /**
+   * How a slot is booked. PESSIMISTIC locks the slot row first and holds the lock for the whole
+   * booking; OPTIMISTIC claims it at the end with a conditional UPDATE.
+   */
+  public enum BookingMode { PESSIMISTIC, OPTIMISTIC }
+
+  public MeetingService(MeetingRepository meetings, MeetingJdbcRepository jdbcMeetings, TimeSlotRepository slots,
+                        TimeSlotJdbcRepository jdbcSlots, UserRepository users,
+                        UserService userService, ApplicationEventPublisher events,
+                        SchedulingMetrics metrics, ReadYourWrites readYourWrites,
+                        PlatformTransactionManager txManager,
+                        @Value("${minidoodle.meetings.booking-mode:pessimistic}") BookingMode bookingMode,
+                        @Value("${minidoodle.meetings.max-batch:100}") int maxBatch,
+                        @Value("${minidoodle.meetings.bulk-max-items:1000}") int bulkMaxItems,
+                        @Value("${minidoodle.meetings.bulk-chunk-size:100}") int bulkChunkSize) {
     this.meetings = meetings;
+    this.jdbcMeetings = jdbcMeetings;
     this.slots = slots;
+    this.jdbcSlots = jdbcSlots;
     this.users = users;
     this.userService = userService;
+    this.events = events;
+    this.metrics = metrics;
+    this.readYourWrites = readYourWrites;
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.writeTx = new TransactionTemplate(txManager);
+    this.bookingMode = bookingMode;
+    this.maxBatch = maxBatch;
+    this.bulkMaxItems = bulkMaxItems;
+    this.bulkChunkSize = bulkChunkSize;
   }
 
   @Transactional
@@ -43,75 +94,324 @@ public class MeetingService {
 
     if (title == null || title.isBlank()) throw new BadRequest("title is required");
 
-    // Lock slot to prevent double-booking races
+    Set<UUID> uniqueIds = new LinkedHashSet<>();
+    if (participantIds != null) uniqueIds.addAll(participantIds);
+    uniqueIds.remove(organizerId); // organizer doesn't need a participant busy-slot
+
+    return bookingMode == BookingMode.OPTIMISTIC
+        ? scheduleOptimistic(organizerId, slotId, title, description, uniqueIds)
+        : schedulePessimistic(organizerId, slotId, title, description, uniqueIds);
+  }
+
+  private MeetingEntity schedulePessimistic(UUID organizerId, UUID slotId, String title, String description,
+                                            Set<UUID> participantIds) {
+    // Lock slot to prevent double-booking races; held until commit
+    long t0 = System.nanoTime();
     TimeSlotEntity slot = slots.findByIdForUpdate(slotId)
         .orElseThrow(() -> new NotFound("slot not found"));
+    long t1 = System.nanoTime();
+    metrics.lockAcquired(BookingMode.PESSIMISTIC, t1 - t0);
+
+    requireBookable(slot.getUser().getId(), slot.getStatus(), organizerId);
+    var participants = participants(participantIds, slot.getStartTs(), slot.getEndTs());
+    long t2 = System.nanoTime();
+    metrics.validate(t2 - t1);
+
+    // the slot's owner is the organizer, already attached by the locking query
+    var meeting = saveMeeting(slot.getUser(), slot.getStartTs(), slot.getEndTs(), title, description, participants);
+
+    // Convert organizer slot to BUSY + link to meeting
+    slot.setStatus(SlotStatus.BUSY);
+    slot.setMeeting(meeting);
+    slots.save(slot);
+
+    insertParticipantSlots(meeting, participants);
+    publishChanges(organizerId, meeting, participants);
+    metrics.write(System.nanoTime() - t2);
+    return meeting;
+  }
+
+  /**
+   * Validates against an unlocked read and writes everything else first; the slot is claimed
+   * last with one conditional UPDATE, so its row lock is only held from there to commit.
+   */
+  private MeetingEntity scheduleOptimistic(UUID organizerId, UUID slotId, String title, String description,
+                                           Set<UUID> participantIds) {
+    long t0 = System.nanoTime();
+    SlotRow slot = jdbcSlots.findById(slotId).orElseThrow(() -> new NotFound("slot not found"));
+    requireBookable(slot.userId(), slot.status(), organizerId);
+    var participants = participants(participantIds, slot.start(), slot.end());
+    long t1 = System.nanoTime();
+    metrics.validate(t1 - t0);
 
-    if (!slot.getUser().getId().equals(organizerId)) {
-      throw new Conflict("slot does not belong to organizer");
+    var meeting = saveMeeting(users.getReferenceById(organizerId), slot.start(), slot.end(), title, description,
+        participants);
+    insertParticipantSlots(meeting, participants);
+
+    long t2 = System.nanoTime();
+    boolean claimed = jdbcSlots.claim(slot, meeting.getId(), Instant.now());
+    metrics.lockAcquired(BookingMode.OPTIMISTIC, System.nanoTime() - t2);
+    if (!claimed) {
+      // booked, moved or resized since the read above
+      throw metrics.conflict(ConflictReason.NOT_AVAILABLE, new Conflict("slot is not AVAILABLE"));
     }
-    if (slot.getStatus() != SlotStatus.AVAILABLE) {
-      throw new Conflict("slot is not AVAILABLE");
+
+    publishChanges(organizerId, meeting, participants);
+    metrics.write(System.nanoTime() - t1);
+    return meeting;
+  }
+
+  /**
+   * Books many meetings, in transactions of up to {@code bulk-chunk-size} meetings each. Items are
+   * judged independently and results are returned in request order; a rejected item fails alone.
+   *
+   * <p>Each chunk takes all its locks before validating, always in the order single bookings of
+   * the configured {@link BookingMode} take them: slot rows (by id) then the participants'
+   * per-user range locks (by user id) when pessimistic, the reverse when optimistic. Chunks thus
+   * never deadlock with each other or with single bookings. Participants are checked for
+   * existence and conflicts with one query each per chunk, and everything is written with
+   * batched statements.
+   */
+  public List<BulkItemResult> scheduleAll(List<NewMeeting> items) {
+    if (items == null || items.isEmpty()) throw new BadRequest("meetings must not be empty");
+    if (items.size() > bulkMaxItems) throw new BadRequest("at most " + bulkMaxItems + " meetings per request");
+
+    var results = new BulkItemResult[items.size()];
+    for (int from = 0; from < items.size(); from += bulkChunkSize) {
+      int start = from;
+      int end = Math.min(items.size(), from + bulkChunkSize);
+      writeTx.executeWithoutResult(status -> scheduleChunk(items, start, end, results));
     }
+    return Arrays.asList(results);
+  }
 
-    var organizer = userService.get(organizerId);
-    var now = Instant.now();
+  private void scheduleChunk(List<NewMeeting> items, int start, int end, BulkItemResult[] results) {
+    long t0 = System.nanoTime();
+    List<Integer> pending = new ArrayList<>();
+    Map<Integer, Set<UUID>> participantIds = new HashMap<>();
+    Set<UUID> slotIds = new HashSet<>();
+    Set<UUID> allParticipants = new HashSet<>();
+    for (int i = start; i < end; i++) {
+      NewMeeting item = items.get(i);
+      if (item == null || item.organizerId() == null || item.slotId() == null) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.INVALID, "organizerId and slotId are required");
+      } else if (item.title() == null || item.title().isBlank()) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.INVALID, "title is required");
+      } else {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (item.participantIds() != null) ids.addAll(item.participantIds());
+        ids.remove(null);
+        ids.remove(item.organizerId());
+        participantIds.put(i, ids);
+        slotIds.add(item.slotId());
+        allParticipants.addAll(ids);
+        pending.add(i);
+      }
+    }
 
-    var meeting = new MeetingEntity(
-        UUID.randomUUID(),
-        organizer,
-        slot.getStartTs(),
-        slot.getEndTs(),
-        title,
-        description,
-        now
-    );
+    Map<UUID, SlotRow> slotsById = new HashMap<>();
+    if (bookingMode == BookingMode.OPTIMISTIC) jdbcSlots.lockUsers(allParticipants);
+    for (SlotRow slot : jdbcSlots.lockAllForUpdate(slotIds)) slotsById.put(slot.id(), slot);
+    if (bookingMode == BookingMode.PESSIMISTIC) jdbcSlots.lockUsers(allParticipants);
+    long t1 = System.nanoTime();
+    if (!pending.isEmpty()) metrics.lockAcquired(bookingMode, t1 - t0);
 
-    // Load participants in one query
-    Set<UUID> uniqueIds = new LinkedHashSet<>();
-    if (participantIds != null) uniqueIds.addAll(participantIds);
-    uniqueIds.remove(organizerId); // organizer doesn't need a participant busy-slot
+    Set<UUID> existing = allParticipants.isEmpty() ? Set.of() : userService.existing(allParticipants);
+    Set<UUID> claimed = new HashSet<>();
+    List<Integer> bookable = new ArrayList<>();
+    List<SlotRow> busyRows = new ArrayList<>();
+    List<Integer> busyRowItem = new ArrayList<>();
+    for (int i : pending) {
+      NewMeeting item = items.get(i);
+      SlotRow slot = slotsById.get(item.slotId());
+      if (slot == null) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.NOT_FOUND, "slot not found");
+      } else if (!slot.userId().equals(item.organizerId())) {
+        results[i] = conflict(i, ConflictReason.NOT_OWNER, "slot does not belong to organizer");
+      } else if (slot.status() != SlotStatus.AVAILABLE || !claimed.add(slot.id())) {
+        results[i] = conflict(i, ConflictReason.NOT_AVAILABLE, "slot is not AVAILABLE");
+      } else if (!existing.containsAll(participantIds.get(i))) {
+        claimed.remove(slot.id());
+        results[i] = BulkItemResult.failed(i, BulkOutcome.INVALID, "one or more participantIds do not exist");
+      } else {
+        bookable.add(i);
+        for (UUID p : participantIds.get(i)) {
+          busyRows.add(new SlotRow(UUID.randomUUID(), p, slot.start(), slot.end(), SlotStatus.BUSY, null));
+          busyRowItem.add(i);
+        }
+      }
+    }
+
+    // Participants busy before the batch, or booked by an earlier meeting of it
+    boolean[] overlaps = jdbcSlots.overlapsExisting(busyRows);
+    Map<Integer, List<UUID>> conflicting = new HashMap<>();
+    for (int r = 0; r < busyRows.size(); r++) {
+      if (overlaps[r]) conflicting.computeIfAbsent(busyRowItem.get(r), k -> new ArrayList<>()).add(busyRows.get(r).userId());
+    }
+    Map<UUID, List<SlotRow>> booked = new HashMap<>();
+    List<MeetingRow> meetingRows = new ArrayList<>();
+    List<SlotRow> organizerSlots = new ArrayList<>();
+    List<SlotRow> participantSlots = new ArrayList<>();
+    List<CalendarChangedEvent.Change> changes = new ArrayList<>();
+    int r = 0;
+    for (int i : bookable) {
+      NewMeeting item = items.get(i);
+      SlotRow slot = slotsById.get(item.slotId());
+      int first = r;
+      while (r < busyRows.size() && busyRowItem.get(r) == i) r++;
+      List<SlotRow> rows = busyRows.subList(first, r);
+      for (SlotRow row : rows) {
+        for (SlotRow other : booked.getOrDefault(row.userId(), List.of())) {
+          if (other.start().isBefore(row.end()) && row.start().isBefore(other.end())) {
+            conflicting.computeIfAbsent(i, k -> new ArrayList<>()).add(row.userId());
+            break;
+          }
+        }
+      }
+      if (conflicting.containsKey(i)) {
+        claimed.remove(slot.id());
+        results[i] = conflict(i, ConflictReason.PARTICIPANT_CONFLICT,
+            "participants have a conflicting slot: " + conflicting.get(i));
+        continue;
+      }
+
+      UUID meetingId = UUID.randomUUID();
+      List<UUID> participants = List.copyOf(participantIds.get(i));
+      meetingRows.add(new MeetingRow(meetingId, item.organizerId(), slot.start(), slot.end(), item.title(),
+          item.description(), participants));
+      organizerSlots.add(new SlotRow(slot.id(), slot.userId(), slot.start(), slot.end(), SlotStatus.BUSY, meetingId));
+      changes.add(new CalendarChangedEvent.Change(item.organizerId(), slot.start(), slot.end()));
+      for (SlotRow row : rows) {
+        SlotRow busy = new SlotRow(row.id(), row.userId(), row.start(), row.end(), SlotStatus.BUSY, meetingId);
+        participantSlots.add(busy);
+        booked.computeIfAbsent(row.userId(), k -> new ArrayList<>()).add(busy);
+        changes.add(new CalendarChangedEvent.Change(row.userId(), row.start(), row.end()));
+      }
+      results[i] = new BulkItemResult(i, BulkOutcome.SCHEDULED, meetingId, null);
+    }
+    long t2 = System.nanoTime();
+    metrics.validate(t2 - t1);
+
+    if (meetingRows.isEmpty()) return;
+    Instant now = Instant.now();
+    jdbcMeetings.insertAll(meetingRows, now);
+    boolean[] claimedRows = jdbcSlots.claimAll(organizerSlots, now);
+    boolean[] inserted = participantSlots.isEmpty() ? new boolean[0] : jdbcSlots.insertSkippingOverlaps(participantSlots, now);
+    // Both were checked under the locks taken above
+    for (boolean ok : claimedRows) {
+      if (!ok) throw new IllegalStateException("locked slot could not be claimed");
+    }
+    for (boolean ok : inserted) {
+      if (!ok) throw new IllegalStateException("participant slot overlaps despite the user lock");
+    }
+    events.publishEvent(new CalendarChangedEvent(changes));
+    metrics.write(System.nanoTime() - t2);
+  }
+
+  private BulkItemResult conflict(int index, ConflictReason reason, String message) {
+    metrics.conflict(reason, new Conflict(message));
+    return BulkItemResult.failed(index, BulkOutcome.CONFLICT, message);
+  }
 
-    var participantEntities = uniqueIds.isEmpty()
-        ? List.<com.example.minidoodle.infrastructure.persistence.entity.UserEntity>of()
-        : users.findAllById(uniqueIds);
+  private void requireBookable(UUID ownerId, SlotStatus status, UUID organizerId) {
+    if (!ownerId.equals(organizerId)) {
+      throw metrics.conflict(ConflictReason.NOT_OWNER, new Conflict("slot does not belong to organizer"));
+    }
+    if (status != SlotStatus.AVAILABLE) {
+      throw metrics.conflict(ConflictReason.NOT_AVAILABLE, new Conflict("slot is not AVAILABLE"));
+    }
+  }
 
-    if (participantEntities.size() != uniqueIds.size()) {
+  // Checks participants exist (cached users need no query) and are free, then attaches them as references.
+  private List<UserEntity> participants(Set<UUID> ids, Instant start, Instant end) {
+    if (ids.isEmpty()) return List.of();
+    if (!userService.existing(ids).containsAll(ids)) {
       throw new BadRequest("one or more participantIds do not exist");
     }
+    // Every participant with a slot in the meeting window, in one query
+    var conflicting = jdbcSlots.findUsersWithOverlap(ids, start, end);
+    if (!conflicting.isEmpty()) throw participantConflict(conflicting);
 
-    meeting.setParticipants(new LinkedHashSet<>(participantEntities));
-    meeting = meetings.save(meeting);
+    List<UserEntity> out = new ArrayList<>(ids.size());
+    for (UUID id : ids) out.add(users.getReferenceById(id));
+    return out;
+  }
 
-    // Convert organizer slot to BUSY + link to meeting
-    slot.setStatus(SlotStatus.BUSY);
-    slot.setMeeting(meeting);
-    slots.save(slot);
+  private MeetingEntity saveMeeting(UserEntity organizer, Instant start, Instant end, String title,
+                                    String description, List<UserEntity> participants) {
+    var meeting = new MeetingEntity(UUID.randomUUID(), organizer, start, end, title, description, Instant.now());
+    meeting.setParticipants(new LinkedHashSet<>(participants));
+    // flushed so the slot rows written over JDBC can reference it
+    return meetings.saveAndFlush(meeting);
+  }
 
-    // Create BUSY slots for participants (protected by DB overlap constraint on BUSY slots)
-    for (var p : participantEntities) {
-      var busySlot = new TimeSlotEntity(
-          UUID.randomUUID(),
-          p,
-          meeting.getStartTs(),
-          meeting.getEndTs(),
-          SlotStatus.BUSY,
-          meeting,
-          now,
-          now
-      );
-      try {
-        slots.save(busySlot);
-      } catch (DataIntegrityViolationException e) {
-        throw new Conflict("participant " + p.getId() + " has a conflicting BUSY slot");
-      }
+  // Create BUSY slots for participants in one batch. The overlap constraint still guards
+  // against slots added since the check; such rows are skipped and reported.
+  private void insertParticipantSlots(MeetingEntity meeting, List<UserEntity> participants) {
+    if (participants.isEmpty()) return;
+    List<SlotRow> busyRows = new ArrayList<>(participants.size());
+    for (var p : participants) {
+      busyRows.add(new SlotRow(UUID.randomUUID(), p.getId(), meeting.getStartTs(), meeting.getEndTs(),
+          SlotStatus.BUSY, meeting.getId()));
+    }
+    boolean[] inserted = jdbcSlots.insertSkippingOverlaps(busyRows, Instant.now());
+    List<UUID> lostRace = new ArrayList<>();
+    for (int i = 0; i < inserted.length; i++) {
+      if (!inserted[i]) lostRace.add(busyRows.get(i).userId());
     }
+    if (!lostRace.isEmpty()) throw participantConflict(lostRace);
+  }
 
-    return meeting;
+  private void publishChanges(UUID organizerId, MeetingEntity meeting, List<UserEntity> participants) {
+    List<CalendarChangedEvent.Change> changes = new ArrayList<>();
+    changes.add(new CalendarChangedEvent.Change(organizerId, meeting.getStartTs(), meeting.getEndTs()));
+    for (var p : participants) {
+      changes.add(new CalendarChangedEvent.Change(p.getId(), meeting.getStartTs(), meeting.getEndTs()));
+    }
+    events.publishEvent(new CalendarChangedEvent(changes));
+  }
+
+  private Conflict participantConflict(List<UUID> participantIds) {
+    return metrics.conflict(ConflictReason.PARTICIPANT_CONFLICT,
+        new Conflict("participants have a conflicting slot: " + participantIds));
   }
 
-  @Transactional(readOnly = true)
-  public MeetingEntity get(UUID id) {
-    return meetings.findById(id).orElseThrow(() -> new NotFound("meeting not found"));
+  /** A meeting booked moments ago may not have reached the replica yet; misses are retried on the primary. */
+  public MeetingRow get(UUID id) {
+    return readYourWrites.find(() -> readOnlyTx.execute(status ->
+            jdbcMeetings.findAllById(List.of(id)).stream().findFirst()))
+        .orElseThrow(() -> new NotFound("meeting not found"));
+  }
+
+  /**
+   * The meetings among {@code ids} that exist, in request order, in one query. Unknown ids are left
+   * out; if some are missing on the replica the whole lookup is retried on the primary.
+   */
+  public List<MeetingRow> getAll(List<UUID> ids) {
+    Set<UUID> unique = new LinkedHashSet<>(ids == null ? List.of() : ids);
+    if (unique.isEmpty()) throw new BadRequest("ids must not be empty");
+    if (unique.size() > maxBatch) throw new BadRequest("at most " + maxBatch + " ids per request");
+
+    List<MeetingRow> found = readYourWrites.find(
+        () -> readOnlyTx.execute(status -> jdbcMeetings.findAllById(unique)),
+        rows -> rows.size() == unique.size());
+    Map<UUID, MeetingRow> byId = new HashMap<>();
+    for (MeetingRow m : found) byId.put(m.id(), m);
+    List<MeetingRow> out = new ArrayList<>(found.size());
+    for (UUID id : unique) {
+      MeetingRow m = byId.get(id);
+      if (m != null) out.add(m);
+    }
+    return out;
+  }
+
+  public record NewMeeting(UUID organizerId, UUID slotId, String title, String description, List<UUID> participantIds) {}
+
+  public enum BulkOutcome { SCHEDULED, CONFLICT, INVALID, NOT_FOUND }
+
+  public record BulkItemResult(int index, BulkOutcome outcome, UUID meetingId, String message) {
+    static BulkItemResult failed(int index, BulkOutcome outcome, String message) {
+      return new BulkItemResult(index, outcome, null, message);
+    }
   }
 }
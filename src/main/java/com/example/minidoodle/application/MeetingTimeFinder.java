@@ -0,0 +1,107 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.Interval;
+import com.example.minidoodle.domain.IntervalSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.minidoodle.application.Exceptions.*;
+
+/**
+ * Finds the first N windows of a given length in which all users are free.
+ * The range is scanned in chunks that start small and double, so a near-term match costs one
+ * small availability computation and the scan stops as soon as N windows are found.
+ * Touching common-free intervals are treated as one continuous free period.
+ */
+@Service
+public class MeetingTimeFinder {
+
+  private final AvailabilityService availability;
+  private final Duration initialChunk;
+  private final Duration maxChunk;
+  private final int maxLimit;
+
+  public MeetingTimeFinder(AvailabilityService availability,
+                           @Value("${minidoodle.finder.initial-chunk:1d}") Duration initialChunk,
+                           @Value("${minidoodle.finder.max-chunk:30d}") Duration maxChunk,
+                           @Value("${minidoodle.finder.max-limit:100}") int maxLimit) {
+    this.availability = availability;
+    this.initialChunk = initialChunk;
+    this.maxChunk = maxChunk;
+    this.maxLimit = maxLimit;
+  }
+
+  /**
+   * Candidate windows of {@code duration} in [from, to), earliest first. Inside one free period
+   * candidates start every {@code step} (defaults to {@code duration}).
+   */
+  public List<Interval> find(List<UUID> userIds, Instant from, Instant to, Duration duration, Duration step, int limit) {
+    if (userIds == null || userIds.isEmpty()) throw new BadRequest("userIds must not be empty");
+    if (duration == null || duration.isZero() || duration.isNegative()) throw new BadRequest("durationMinutes must be > 0");
+    if (step == null) step = duration;
+    if (step.isZero() || step.isNegative()) throw new BadRequest("stepMinutes must be > 0");
+    if (limit < 1 || limit > maxLimit) throw new BadRequest("limit must be between 1 and " + maxLimit);
+    AvailabilityService.requireValidRange(from, to);
+
+    var scan = new Scan(duration.toNanos() / 1000, step.toNanos() / 1000, limit);
+    Duration chunk = initialChunk;
+    Instant chunkFrom = from;
+
+    while (chunkFrom.isBefore(to) && !scan.done()) {
+      Instant chunkTo = chunkFrom.plus(chunk).isBefore(to) ? chunkFrom.plus(chunk) : to;
+      IntervalSet common = availability.availability(userIds, chunkFrom, chunkTo).commonFree();
+      for (int i = 0; i < common.size() && !scan.done(); i++) {
+        scan.free(common.startMicros(i), common.endMicros(i));
+      }
+      // a free period reaching the chunk end may continue in the next chunk; anything else is closed
+      scan.closeUnless(EpochMicros.of(chunkTo));
+
+      chunkFrom = chunkTo;
+      if (chunk.compareTo(maxChunk) < 0) chunk = chunk.multipliedBy(2).compareTo(maxChunk) > 0 ? maxChunk : chunk.multipliedBy(2);
+    }
+    return scan.windows;
+  }
+
+  private static final class Scan {
+    final long duration;
+    final long step;
+    final int limit;
+    final List<Interval> windows = new ArrayList<>();
+    boolean open;
+    long runEnd;
+    long nextStart;
+
+    Scan(long duration, long step, int limit) {
+      this.duration = duration;
+      this.step = step;
+      this.limit = limit;
+    }
+
+    boolean done() {
+      return windows.size() >= limit;
+    }
+
+    void free(long start, long end) {
+      if (!open || start != runEnd) {
+        open = true;
+        nextStart = start;
+      }
+      runEnd = end;
+      while (!done() && nextStart + duration <= runEnd) {
+        windows.add(new Interval(EpochMicros.toInstant(nextStart), EpochMicros.toInstant(nextStart + duration)));
+        nextStart += step;
+      }
+    }
+
+    void closeUnless(long chunkEnd) {
+      if (runEnd != chunkEnd) open = false;
+    }
+  }
+}
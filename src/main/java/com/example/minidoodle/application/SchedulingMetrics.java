@@ -0,0 +1,90 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.application.MeetingService.BookingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers for meeting scheduling ({@code validate}, {@code write}), slot lock wait and hold
+ * times per booking mode, and rejected bookings by reason.
+ */
+@Component
+public class SchedulingMetrics {
+
+  public enum ConflictReason {
+    NOT_OWNER("not_owner"),
+    NOT_AVAILABLE("not_available"),
+    PARTICIPANT_CONFLICT("participant_conflict");
+
+    final String tag;
+
+    ConflictReason(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final Timer[] lockWait = new Timer[BookingMode.values().length];
+  private final Timer[] lockHeld = new Timer[BookingMode.values().length];
+  private final Timer validate;
+  private final Timer write;
+  private final Counter[] conflicts = new Counter[ConflictReason.values().length];
+
+  public SchedulingMetrics(MeterRegistry registry) {
+    for (var mode : BookingMode.values()) {
+      String tag = mode.name().toLowerCase(Locale.ROOT);
+      lockWait[mode.ordinal()] = Timer.builder("minidoodle.meetings.lock.wait").tag("mode", tag)
+          .description("Time to acquire the slot row lock (SELECT FOR UPDATE, or the conditional UPDATE)")
+          .publishPercentileHistogram()
+          .register(registry);
+      lockHeld[mode.ordinal()] = Timer.builder("minidoodle.meetings.lock.held").tag("mode", tag)
+          .description("Time from acquiring the slot row lock until the transaction completes")
+          .publishPercentileHistogram()
+          .register(registry);
+    }
+    this.validate = stage(registry, "validate");
+    this.write = stage(registry, "write");
+    for (var reason : ConflictReason.values()) {
+      conflicts[reason.ordinal()] = Counter.builder("minidoodle.meetings.conflicts")
+          .tag("reason", reason.tag)
+          .description("Meeting bookings rejected with 409, by reason")
+          .register(registry);
+    }
+  }
+
+  private static Timer stage(MeterRegistry registry, String stage) {
+    return Timer.builder("minidoodle.meetings.schedule.stage")
+        .tag("stage", stage)
+        .description("Time spent scheduling a meeting in each stage")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /** Records the wait, and the hold time once the current transaction completes. */
+  void lockAcquired(BookingMode mode, long waitNanos) {
+    lockWait[mode.ordinal()].record(waitNanos, TimeUnit.NANOSECONDS);
+    long acquired = System.nanoTime();
+    Timer held = lockHeld[mode.ordinal()];
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        held.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+      }
+    });
+  }
+
+  void validate(long nanos) { validate.record(nanos, TimeUnit.NANOSECONDS); }
+  void write(long nanos) { write.record(nanos, TimeUnit.NANOSECONDS); }
+
+  /** Counts the rejection and returns {@code conflict} so callers can throw it. */
+  Exceptions.Conflict conflict(ConflictReason reason, Exceptions.Conflict conflict) {
+    conflicts[reason.ordinal()].increment();
+    return conflict;
+  }
+}
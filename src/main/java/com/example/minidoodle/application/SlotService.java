@@ -1,16 +1,23 @@
 package com.example.minidoodle.application;
 
+import com.example.minidoodle.domain.EpochMicros;
 import com.example.minidoodle.domain.SlotStatus;
 import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
+import com.example.minidoodle.infrastructure.persistence.jdbc.CalendarVersionJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.jdbc.SlotRow;
+import com.example.minidoodle.infrastructure.persistence.jdbc.TimeSlotJdbcRepository;
+import com.example.minidoodle.infrastructure.persistence.routing.ReadYourWrites;
 import com.example.minidoodle.infrastructure.persistence.repo.TimeSlotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 import static com.example.minidoodle.application.Exceptions.*;
 
@@ -18,20 +25,38 @@ import static com.example.minidoodle.application.Exceptions.*;
 public class SlotService {
 
   private final TimeSlotRepository slots;
+  private final TimeSlotJdbcRepository jdbcSlots;
+  private final CalendarVersionJdbcRepository versions;
   private final UserService userService;
-
-  public SlotService(TimeSlotRepository slots, UserService userService) {
+  private final ApplicationEventPublisher events;
+  private final ReadYourWrites readYourWrites;
+  private final int bulkMaxItems;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  public SlotService(TimeSlotRepository slots, TimeSlotJdbcRepository jdbcSlots,
+                     CalendarVersionJdbcRepository versions, UserService userService, ApplicationEventPublisher events,
+                     ReadYourWrites readYourWrites,
+                     @Value("${minidoodle.slots.bulk-max-items:10000}") int bulkMaxItems,
+                     @Value("${minidoodle.slots.default-page-size:100}") int defaultPageSize,
+                     @Value("${minidoodle.slots.max-page-size:1000}") int maxPageSize) {
     this.slots = slots;
+    this.jdbcSlots = jdbcSlots;
+    this.versions = versions;
     this.userService = userService;
+    this.events = events;
+    this.readYourWrites = readYourWrites;
+    this.bulkMaxItems = bulkMaxItems;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
   }
 
   @Transactional
   public TimeSlotEntity create(UUID userId, Instant start, Duration duration, SlotStatus status) {
-    if (duration == null || duration.isZero() || duration.isNegative()) {
-      throw new BadRequest("durationMinutes must be > 0");
-    }
+    String invalid = durationError(duration);
+    if (invalid != null) throw new BadRequest(invalid);
     var end = start.plus(duration);
-    var user = userService.get(userId);
+    var user = userService.reference(userId);
     var now = Instant.now();
 
     var entity = new TimeSlotEntity(
@@ -46,11 +71,72 @@ public class SlotService {
     );
 
     try {
-      return slots.save(entity);
+      entity = slots.save(entity);
     } catch (DataIntegrityViolationException e) {
       // Most common cause: exclusion constraint (overlap)
       throw new Conflict("slot overlaps an existing slot for this user/status");
     }
+    events.publishEvent(CalendarChangedEvent.of(userId, start, end));
+    return entity;
+  }
+
+  /**
+   * Creates many slots, possibly for several users, in one transaction using batched inserts.
+   * Items are judged independently: an invalid item, an unknown user or an overlap only fails
+   * that item. Results are returned in request order.
+   */
+  @Transactional
+  public List<BulkItemResult> createAll(List<NewSlot> items) {
+    if (items == null || items.isEmpty()) throw new BadRequest("slots must not be empty");
+    if (items.size() > bulkMaxItems) throw new BadRequest("at most " + bulkMaxItems + " slots per request");
+
+    Set<UUID> userIds = new HashSet<>();
+    for (NewSlot item : items) {
+      if (item != null && item.userId() != null) userIds.add(item.userId());
+    }
+    Set<UUID> existing = userIds.isEmpty() ? Set.of() : userService.existing(userIds);
+
+    var results = new BulkItemResult[items.size()];
+    List<SlotRow> rows = new ArrayList<>();
+    List<Integer> rowIndex = new ArrayList<>();
+
+    for (int i = 0; i < items.size(); i++) {
+      NewSlot item = items.get(i);
+      if (item == null || item.userId() == null || item.start() == null) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.INVALID, "userId and start are required");
+      } else if (durationError(item.duration()) != null) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.INVALID, durationError(item.duration()));
+      } else if (!existing.contains(item.userId())) {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.USER_NOT_FOUND, "user not found");
+      } else {
+        var status = item.status() == null ? SlotStatus.AVAILABLE : item.status();
+        rows.add(new SlotRow(UUID.randomUUID(), item.userId(), item.start(), item.start().plus(item.duration()), status, null));
+        rowIndex.add(i);
+      }
+    }
+
+    boolean[] inserted;
+    try {
+      inserted = rows.isEmpty() ? new boolean[0] : jdbcSlots.insertSkippingOverlaps(rows, Instant.now());
+    } catch (DataIntegrityViolationException e) {
+      // e.g. a user deleted between the existence check and the insert
+      throw new Conflict("bulk insert failed: " + e.getMostSpecificCause().getMessage());
+    }
+
+    List<CalendarChangedEvent.Change> changes = new ArrayList<>();
+    for (int r = 0; r < rows.size(); r++) {
+      int i = rowIndex.get(r);
+      SlotRow row = rows.get(r);
+      if (inserted[r]) {
+        results[i] = new BulkItemResult(i, BulkOutcome.CREATED, row.id(), null);
+        changes.add(new CalendarChangedEvent.Change(row.userId(), row.start(), row.end()));
+      } else {
+        results[i] = BulkItemResult.failed(i, BulkOutcome.CONFLICT, "slot overlaps an existing slot for this user");
+      }
+    }
+    if (!changes.isEmpty()) events.publishEvent(new CalendarChangedEvent(changes));
+
+    return Arrays.asList(results);
   }
 
   @Transactional(readOnly = true)
@@ -61,6 +147,8 @@ public class SlotService {
   @Transactional
   public TimeSlotEntity update(UUID slotId, Instant newStart, Duration newDuration, SlotStatus newStatus) {
     var slot = get(slotId);
+    var oldStart = slot.getStartTs();
+    var oldEnd = slot.getEndTs();
 
     if (slot.getMeeting() != null && newStatus == SlotStatus.AVAILABLE) {
       throw new Conflict("cannot set to AVAILABLE: slot is linked to a meeting");
@@ -68,16 +156,22 @@ public class SlotService {
 
     if (newStart != null) slot.setStartTs(newStart);
     if (newDuration != null) {
-      if (newDuration.isZero() || newDuration.isNegative()) throw new BadRequest("durationMinutes must be > 0");
+      String invalid = durationError(newDuration);
+      if (invalid != null) throw new BadRequest(invalid);
       slot.setEndTs(slot.getStartTs().plus(newDuration));
     }
     if (newStatus != null) slot.setStatus(newStatus);
 
     try {
-      return slots.save(slot);
+      slot = slots.save(slot);
     } catch (DataIntegrityViolationException e) {
       throw new Conflict("update would cause an overlap for this user/status");
     }
+    events.publishEvent(CalendarChangedEvent.of(
+        slot.getUser().getId(),
+        oldStart.isBefore(slot.getStartTs()) ? oldStart : slot.getStartTs(),
+        oldEnd.isAfter(slot.getEndTs()) ? oldEnd : slot.getEndTs()));
+    return slot;
   }
 
   @Transactional
@@ -87,13 +181,73 @@ public class SlotService {
       throw new Conflict("cannot delete: slot is linked to a meeting");
     }
     slots.delete(slot);
+    events.publishEvent(CalendarChangedEvent.of(slot.getUser().getId(), slot.getStartTs(), slot.getEndTs()));
   }
 
+  /**
+   * One page of {@code userId}'s slots overlapping [from, to), ordered by (start, id): up to
+   * {@code limit} (default {@code default-page-size}) slots after {@code cursor}, or from the start
+   * of the range when it is null. {@code nextCursor} is null on the last page. The page carries the
+   * user's calendar version, read first so the slots are never older.
+   */
   @Transactional(readOnly = true)
-  public List<TimeSlotEntity> list(UUID userId, Instant from, Instant to, SlotStatus status) {
-    if (status == null) {
-      return slots.findAllInRange(userId, from, to);
+  public SlotPage list(UUID userId, Instant from, Instant to, SlotStatus status, String cursor, Integer limit) {
+    AvailabilityService.requireValidRange(from, to);
+    int size = limit == null ? defaultPageSize : limit;
+    if (size < 1 || size > maxPageSize) throw new BadRequest("limit must be between 1 and " + maxPageSize);
+    PageCursor after = cursor == null ? null : PageCursor.decode(cursor);
+
+    return readYourWrites.read(List.of(userId), () -> {
+      long version = versions.versions(List.of(userId)).get(userId);
+      List<SlotRow> rows = jdbcSlots.findPage(userId, status, from, to,
+          after == null ? null : after.start(), after == null ? null : after.id(), size + 1);
+      if (rows.size() <= size) return new SlotPage(rows, null, version);
+      SlotRow last = rows.get(size - 1);
+      return new SlotPage(rows.subList(0, size), new PageCursor(last.start(), last.id()).encode(), version);
+    });
+  }
+
+  @Transactional(readOnly = true)
+  public long version(UUID userId) {
+    return readYourWrites.read(List.of(userId), () -> versions.versions(List.of(userId)).get(userId));
+  }
+
+  private static String durationError(Duration duration) {
+    if (duration == null || duration.isZero() || duration.isNegative()) return "durationMinutes must be > 0";
+    if (duration.compareTo(TimeSlotEntity.MAX_DURATION) > 0) {
+      return "durationMinutes must be <= " + TimeSlotEntity.MAX_DURATION.toMinutes();
+    }
+    return null;
+  }
+
+  public record SlotPage(List<SlotRow> slots, String nextCursor, long version) {}
+
+  // Opaque to clients: base64url of "<start epoch micros>:<slot id>"
+  private record PageCursor(Instant start, UUID id) {
+    String encode() {
+      String raw = EpochMicros.of(start) + ":" + id;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static PageCursor decode(String cursor) {
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        int sep = raw.indexOf(':');
+        return new PageCursor(EpochMicros.toInstant(Long.parseLong(raw.substring(0, sep))),
+            UUID.fromString(raw.substring(sep + 1)));
+      } catch (RuntimeException e) {
+        throw new BadRequest("invalid cursor");
+      }
+    }
+  }
+
+  public record NewSlot(UUID userId, Instant start, Duration duration, SlotStatus status) {}
+
+  public enum BulkOutcome { CREATED, CONFLICT, INVALID, USER_NOT_FOUND }
+
+  public record BulkItemResult(int index, BulkOutcome outcome, UUID slotId, String message) {
+    static BulkItemResult failed(int index, BulkOutcome outcome, String message) {
+      return new BulkItemResult(index, outcome, null, message);
     }
-    return slots.findAllInRangeByStatus(userId, status, from, to);
   }
 }
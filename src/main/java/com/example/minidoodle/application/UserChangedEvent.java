@@ -0,0 +1,6 @@
+package com.example.minidoodle.application;
+
+import java.util.UUID;
+
+/** Published when a user row is created or modified; cached copies are dropped after commit. */
+public record UserChangedEvent(UUID userId) {}
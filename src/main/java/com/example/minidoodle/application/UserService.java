@@ -1,12 +1,15 @@
 package com.example.minidoodle.application;
 
+import com.example.minidoodle.infrastructure.cache.UserCache;
 import com.example.minidoodle.infrastructure.persistence.entity.UserEntity;
 import com.example.minidoodle.infrastructure.persistence.repo.UserRepository;
+import com.example.minidoodle.infrastructure.persistence.routing.ReadYourWrites;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.*;
 
 import static com.example.minidoodle.application.Exceptions.*;
 
@@ -14,22 +17,64 @@ import static com.example.minidoodle.application.Exceptions.*;
 public class UserService {
 
   private final UserRepository users;
+  private final UserCache cache;
+  private final ApplicationEventPublisher events;
+  private final ReadYourWrites readYourWrites;
 
-  public UserService(UserRepository users) {
+  public UserService(UserRepository users, UserCache cache, ApplicationEventPublisher events,
+                     ReadYourWrites readYourWrites) {
     this.users = users;
+    this.cache = cache;
+    this.events = events;
+    this.readYourWrites = readYourWrites;
   }
 
   public UserEntity create(String email, String name) {
     var now = Instant.now();
     var entity = new UserEntity(UUID.randomUUID(), email, name, now);
     try {
-      return users.save(entity);
+      entity = users.save(entity);
     } catch (DataIntegrityViolationException e) {
       throw new Conflict("email already exists");
     }
+    events.publishEvent(new UserChangedEvent(entity.getId()));
+    return entity;
   }
 
-  public UserEntity get(UUID id) {
-    return users.findById(id).orElseThrow(() -> new NotFound("user not found"));
+  public UserSummary get(UUID id) {
+    UserSummary cached = cache.get(id);
+    if (cached != null) return cached;
+    var user = UserSummary.of(readYourWrites.find(() -> users.findById(id))
+        .orElseThrow(() -> new NotFound("user not found")));
+    cache.put(user);
+    return user;
+  }
+
+  /**
+   * The user as an entity reference for associations. Users already known to exist are
+   * attached without a SELECT; must be called inside the writing transaction.
+   */
+  public UserEntity reference(UUID id) {
+    if (cache.get(id) != null) return users.getReferenceById(id);
+    var user = users.findById(id).orElseThrow(() -> new NotFound("user not found"));
+    cache.put(UserSummary.of(user));
+    return user;
+  }
+
+  /** Those of {@code ids} that exist; only cache misses are looked up, in one query. */
+  public Set<UUID> existing(Collection<UUID> ids) {
+    Set<UUID> out = new HashSet<>();
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : new LinkedHashSet<>(ids)) {
+      if (cache.get(id) != null) out.add(id);
+      else missing.add(id);
+    }
+    if (!missing.isEmpty()) {
+      for (var user : users.findAllById(missing)) {
+        cache.put(UserSummary.of(user));
+        out.add(user.getId());
+      }
+    }
+    return out;
   }
 }
@@ -0,0 +1,13 @@
+package com.example.minidoodle.application;
+
+import com.example.minidoodle.infrastructure.persistence.entity.UserEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Detached, immutable copy of a user row; safe to cache and share across transactions. */
+public record UserSummary(UUID id, String email, String name, Instant createdAt) {
+  public static UserSummary of(UserEntity e) {
+    return new UserSummary(e.getId(), e.getEmail(), e.getName(), e.getCreatedAt());
+  }
+}
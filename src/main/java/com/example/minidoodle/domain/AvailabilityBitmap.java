@@ -0,0 +1,144 @@
+package com.example.minidoodle.domain;
+
+import java.util.Arrays;
+
+/**
+ * Free time over [from, to) quantized into fixed-size buckets, one bit per bucket.
+ * Bucket {@code i} spans {@code [from + i * bucket, from + (i + 1) * bucket)}; the last bucket is
+ * cut off at {@code to}. Intersection across users is a word-wise AND, so its cost depends on the
+ * range and granularity only, not on how fragmented the calendars are.
+ *
+ * <p>Quantization is conservative: a bucket is free only if the user has an AVAILABLE slot
+ * covering all of it and no BUSY slot touching it. Results are therefore always contained in
+ * the exact engine's results and equal them when every slot bound falls on a bucket boundary.
+ */
+public final class AvailabilityBitmap {
+
+  private final long fromMicros;
+  private final long toMicros;
+  private final long bucketMicros;
+  private final int buckets;
+  private final long[] words;
+
+  private AvailabilityBitmap(long fromMicros, long toMicros, long bucketMicros, int buckets, long[] words) {
+    this.fromMicros = fromMicros;
+    this.toMicros = toMicros;
+    this.bucketMicros = bucketMicros;
+    this.buckets = buckets;
+    this.words = words;
+  }
+
+  /** An all-clear bitmap over [fromMicros, toMicros). */
+  public static AvailabilityBitmap empty(long fromMicros, long toMicros, long bucketMicros) {
+    int buckets = bucketCount(fromMicros, toMicros, bucketMicros);
+    return new AvailabilityBitmap(fromMicros, toMicros, bucketMicros, buckets, new long[(buckets + 63) >>> 6]);
+  }
+
+  public static int bucketCount(long fromMicros, long toMicros, long bucketMicros) {
+    if (bucketMicros <= 0) throw new IllegalArgumentException("bucket must be positive");
+    return Math.toIntExact(ceilDiv(toMicros - fromMicros, bucketMicros));
+  }
+
+  public int buckets() {
+    return buckets;
+  }
+
+  public AvailabilityBitmap clear() {
+    Arrays.fill(words, 0L);
+    return this;
+  }
+
+  /** Marks every bucket lying entirely inside [startMicros, endMicros) as free. */
+  public AvailabilityBitmap markFree(long startMicros, long endMicros) {
+    int first = (int) ceilDiv(Math.max(startMicros, fromMicros) - fromMicros, bucketMicros);
+    // the last, partial bucket ends at toMicros
+    int last = endMicros >= toMicros
+        ? buckets
+        : (int) Math.floorDiv(endMicros - fromMicros, bucketMicros);
+    setRange(first, last, true);
+    return this;
+  }
+
+  /** Clears every bucket overlapping [startMicros, endMicros). */
+  public AvailabilityBitmap markBusy(long startMicros, long endMicros) {
+    if (endMicros <= fromMicros || startMicros >= toMicros) return this;
+    int first = (int) Math.floorDiv(Math.max(startMicros, fromMicros) - fromMicros, bucketMicros);
+    int last = (int) Math.min(buckets, ceilDiv(endMicros - fromMicros, bucketMicros));
+    setRange(first, last, false);
+    return this;
+  }
+
+  /** In-place AND with a bitmap over the same grid. Returns false once no bucket is left free. */
+  public boolean and(AvailabilityBitmap other) {
+    if (other.fromMicros != fromMicros || other.bucketMicros != bucketMicros || other.buckets != buckets) {
+      throw new IllegalArgumentException("bitmaps use different grids");
+    }
+    long any = 0;
+    for (int w = 0; w < words.length; w++) {
+      words[w] &= other.words[w];
+      any |= words[w];
+    }
+    return any != 0;
+  }
+
+  public AvailabilityBitmap copy() {
+    return new AvailabilityBitmap(fromMicros, toMicros, bucketMicros, buckets, words.clone());
+  }
+
+  /** Runs of free buckets as intervals, in ascending order. */
+  public IntervalSet toIntervals(IntervalSet.Builder out) {
+    int i = nextSet(0);
+    while (i < buckets) {
+      int end = nextClear(i);
+      out.add(fromMicros + i * bucketMicros, end == buckets ? toMicros : fromMicros + end * bucketMicros);
+      i = nextSet(end);
+    }
+    return out.build();
+  }
+
+  private static long ceilDiv(long x, long y) {
+    return -Math.floorDiv(-x, y);
+  }
+
+  private void setRange(int from, int to, boolean value) {
+    if (from >= to) return;
+    int fw = from >>> 6, lw = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (fw == lw) {
+      apply(fw, firstMask & lastMask, value);
+      return;
+    }
+    apply(fw, firstMask, value);
+    if (value) Arrays.fill(words, fw + 1, lw, -1L);
+    else Arrays.fill(words, fw + 1, lw, 0L);
+    apply(lw, lastMask, value);
+  }
+
+  private void apply(int word, long mask, boolean value) {
+    if (value) words[word] |= mask;
+    else words[word] &= ~mask;
+  }
+
+  private int nextSet(int from) {
+    if (from >= buckets) return buckets;
+    int w = from >>> 6;
+    long word = words[w] & (-1L << from);
+    while (word == 0) {
+      if (++w == words.length) return buckets;
+      word = words[w];
+    }
+    return Math.min(buckets, (w << 6) + Long.numberOfTrailingZeros(word));
+  }
+
+  private int nextClear(int from) {
+    if (from >= buckets) return buckets;
+    int w = from >>> 6;
+    long word = ~words[w] & (-1L << from);
+    while (word == 0) {
+      if (++w == words.length) return buckets;
+      word = ~words[w];
+    }
+    return Math.min(buckets, (w << 6) + Long.numberOfTrailingZeros(word));
+  }
+}
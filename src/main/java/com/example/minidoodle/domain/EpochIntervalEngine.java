@@ -0,0 +1,274 @@
+package com.example.minidoodle.domain;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Engine over packed {@code long[]} epoch-micros bounds ({@code [s0, e0, s1, e1, ...]}).
+ * Merge loops compare primitives and write into pre-sized output arrays, so no per-interval
+ * objects are created. Produces exactly the same intervals as {@link InstantIntervalEngine}.
+ */
+public final class EpochIntervalEngine implements IntervalEngine {
+
+  /** Sub-lists at or below this size are swept sequentially by a {@link IntersectStrategy#PARALLEL} task. */
+  static final int PARALLEL_LEAF_SIZE = 16;
+
+  private final ForkJoinPool pool;
+
+  public EpochIntervalEngine() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public EpochIntervalEngine(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public IntervalSet.Builder builder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  @Override
+  public IntervalSet subtract(IntervalSet available, IntervalSet busy) {
+    EpochIntervals a = packed(available);
+    EpochIntervals b = packed(busy);
+    // every busy interval can split at most one more piece off an available interval
+    long[] out = new long[2 * (a.size + b.size)];
+    int n = subtract(a.bounds, a.size, b.bounds, b.size, out);
+    return new EpochIntervals(out, n);
+  }
+
+  @Override
+  public IntervalSet intersectAll(List<? extends IntervalSet> sets) {
+    return intersectAll(sets, IntersectStrategy.FOLD);
+  }
+
+  @Override
+  public IntervalSet intersectAll(List<? extends IntervalSet> sets, IntersectStrategy strategy) {
+    return switch (strategy) {
+      case FOLD -> fold(sets);
+      case K_WAY -> kWay(sets, 0, sets.size());
+      case PARALLEL -> sets.size() <= PARALLEL_LEAF_SIZE
+          ? kWay(sets, 0, sets.size())
+          : pool.invoke(new IntersectTask(sets, 0, sets.size()));
+    };
+  }
+
+  private static EpochIntervals fold(List<? extends IntervalSet> sets) {
+    if (sets.isEmpty()) return EpochIntervals.EMPTY;
+    EpochIntervals first = packed(sets.get(0));
+    if (sets.size() == 1) return first;
+
+    long[] acc = first.bounds;
+    int accSize = first.size;
+    long[] spare = null;
+    for (int i = 1; i < sets.size() && accSize > 0; i++) {
+      EpochIntervals next = packed(sets.get(i));
+      int capacity = 2 * (accSize + next.size);
+      if (spare == null || spare.length < capacity) spare = new long[capacity];
+      int n = intersectTwo(acc, accSize, next.bounds, next.size, spare);
+      // ping-pong the two buffers; the input set's own array is never written to
+      long[] produced = spare;
+      spare = acc == first.bounds ? null : acc;
+      acc = produced;
+      accSize = n;
+    }
+    return new EpochIntervals(acc, accSize);
+  }
+
+  /**
+   * Intersects {@code sets[lo, hi)} in one pass. Each set has a cursor; the current candidate is
+   * [max of cursor starts, min of cursor ends). Starts only move forward, so the max is a running
+   * value, and the cursor with the smallest end is kept at the top of a binary min-heap and is the
+   * one advanced next. This visits the same interval tuples, in the same order, as the pairwise fold.
+   */
+  static EpochIntervals kWay(List<? extends IntervalSet> sets, int lo, int hi) {
+    int k = hi - lo;
+    if (k <= 0) return EpochIntervals.EMPTY;
+    if (k == 1) return packed(sets.get(lo));
+
+    EpochIntervals[] in = new EpochIntervals[k];
+    int[] cursor = new int[k];
+    int[] heap = new int[k];
+    long maxStart = Long.MIN_VALUE;
+    int capacity = 0;
+    for (int i = 0; i < k; i++) {
+      in[i] = packed(sets.get(lo + i));
+      if (in[i].size == 0) return EpochIntervals.EMPTY;
+      maxStart = Math.max(maxStart, in[i].bounds[0]);
+      capacity += in[i].size;
+      heap[i] = i;
+    }
+    for (int i = k / 2 - 1; i >= 0; i--) siftDown(heap, k, i, in, cursor);
+
+    long[] out = new long[2 * Math.min(capacity, 64)];
+    int n = 0;
+    while (true) {
+      int top = heap[0];
+      long minEnd = in[top].bounds[2 * cursor[top] + 1];
+      if (minEnd > maxStart) {
+        if (2 * n == out.length) out = Arrays.copyOf(out, 2 * out.length);
+        out[2 * n] = maxStart;
+        out[2 * n + 1] = minEnd;
+        n++;
+      }
+      if (++cursor[top] == in[top].size) break;
+      maxStart = Math.max(maxStart, in[top].bounds[2 * cursor[top]]);
+      siftDown(heap, k, 0, in, cursor);
+    }
+    return new EpochIntervals(out, n);
+  }
+
+  // Orders by the current end of each cursor; ties go to the lower set index, like the pairwise fold.
+  private static void siftDown(int[] heap, int size, int i, EpochIntervals[] in, int[] cursor) {
+    while (true) {
+      int l = 2 * i + 1;
+      if (l >= size) return;
+      int r = l + 1;
+      int c = r < size && less(heap[r], heap[l], in, cursor) ? r : l;
+      if (!less(heap[c], heap[i], in, cursor)) return;
+      int tmp = heap[c];
+      heap[c] = heap[i];
+      heap[i] = tmp;
+      i = c;
+    }
+  }
+
+  private static boolean less(int a, int b, EpochIntervals[] in, int[] cursor) {
+    long ea = in[a].bounds[2 * cursor[a] + 1];
+    long eb = in[b].bounds[2 * cursor[b] + 1];
+    return ea < eb || (ea == eb && a < b);
+  }
+
+  /** Writes available - busy into {@code out}; returns the number of intervals written. */
+  static int subtract(long[] a, int na, long[] b, int nb, long[] out) {
+    int n = 0;
+    int j = 0;
+    for (int i = 0; i < na; i++) {
+      long as = a[2 * i], ae = a[2 * i + 1];
+      long cur = as;
+      while (j < nb && b[2 * j + 1] <= as) j++; // busy ends before a starts
+
+      for (int k = j; k < nb && b[2 * k] < ae; k++) {
+        long bs = b[2 * k], be = b[2 * k + 1];
+        if (bs > cur) {
+          out[2 * n] = cur;
+          out[2 * n + 1] = Math.min(bs, ae);
+          n++;
+        }
+        if (be > cur) cur = be;
+        if (ae <= cur) break;
+      }
+
+      if (ae > cur) {
+        out[2 * n] = cur;
+        out[2 * n + 1] = ae;
+        n++;
+      }
+    }
+    return n;
+  }
+
+  /** Writes a ∩ b into {@code out}; returns the number of intervals written. */
+  static int intersectTwo(long[] a, int na, long[] b, int nb, long[] out) {
+    int n = 0;
+    int i = 0, j = 0;
+    while (i < na && j < nb) {
+      long xe = a[2 * i + 1], ye = b[2 * j + 1];
+      long start = Math.max(a[2 * i], b[2 * j]);
+      long end = Math.min(xe, ye);
+      if (end > start) {
+        out[2 * n] = start;
+        out[2 * n + 1] = end;
+        n++;
+      }
+      if (xe < ye) i++;
+      else j++;
+    }
+    return n;
+  }
+
+  private static EpochIntervals intersectTwo(EpochIntervals a, EpochIntervals b) {
+    long[] out = new long[2 * (a.size + b.size)];
+    return new EpochIntervals(out, intersectTwo(a.bounds, a.size, b.bounds, b.size, out));
+  }
+
+  private static final class IntersectTask extends RecursiveTask<EpochIntervals> {
+    private final List<? extends IntervalSet> sets;
+    private final int lo, hi;
+
+    IntersectTask(List<? extends IntervalSet> sets, int lo, int hi) {
+      this.sets = sets;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected EpochIntervals compute() {
+      if (hi - lo <= PARALLEL_LEAF_SIZE) return kWay(sets, lo, hi);
+      int mid = (lo + hi) >>> 1;
+      var left = new IntersectTask(sets, lo, mid);
+      left.fork();
+      EpochIntervals right = new IntersectTask(sets, mid, hi).compute();
+      if (right.size == 0) {
+        left.cancel(false);
+        return EpochIntervals.EMPTY;
+      }
+      EpochIntervals l = left.join();
+      return l.size == 0 ? EpochIntervals.EMPTY : intersectTwo(l, right);
+    }
+  }
+
+  static EpochIntervals packed(IntervalSet set) {
+    if (set instanceof EpochIntervals p) return p;
+    long[] bounds = new long[2 * set.size()];
+    for (int i = 0; i < set.size(); i++) {
+      bounds[2 * i] = set.startMicros(i);
+      bounds[2 * i + 1] = set.endMicros(i);
+    }
+    return new EpochIntervals(bounds, set.size());
+  }
+
+  /** Packed interval set; {@code bounds} may be longer than {@code 2 * size}. */
+  public static final class EpochIntervals implements IntervalSet {
+    static final EpochIntervals EMPTY = new EpochIntervals(new long[0], 0);
+
+    final long[] bounds;
+    final int size;
+
+    EpochIntervals(long[] bounds, int size) {
+      this.bounds = bounds;
+      this.size = size;
+    }
+
+    @Override public int size() { return size; }
+    @Override public long startMicros(int i) { return bounds[2 * i]; }
+    @Override public long endMicros(int i) { return bounds[2 * i + 1]; }
+  }
+
+  static final class Builder implements IntervalSet.Builder {
+    private long[] bounds;
+    private int size;
+
+    Builder(int expectedSize) {
+      this.bounds = new long[2 * Math.max(expectedSize, 4)];
+    }
+
+    @Override
+    public IntervalSet.Builder add(long startMicros, long endMicros) {
+      if (endMicros <= startMicros) throw new IllegalArgumentException("end must be after start");
+      if (2 * size == bounds.length) bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+      bounds[2 * size] = startMicros;
+      bounds[2 * size + 1] = endMicros;
+      size++;
+      return this;
+    }
+
+    @Override
+    public IntervalSet build() {
+      return new EpochIntervals(bounds, size);
+    }
+  }
+}
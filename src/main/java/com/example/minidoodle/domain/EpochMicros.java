@@ -0,0 +1,20 @@
+package com.example.minidoodle.domain;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Instant <-> epoch-microseconds conversion. Microseconds match the resolution of
+ * Postgres TIMESTAMPTZ, so round-tripping a persisted slot boundary is lossless.
+ */
+public final class EpochMicros {
+  private EpochMicros() {}
+
+  public static long of(Instant instant) {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+  }
+
+  public static Instant toInstant(long micros) {
+    return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+  }
+}
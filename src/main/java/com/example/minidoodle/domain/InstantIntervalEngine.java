@@ -0,0 +1,110 @@
+package com.example.minidoodle.domain;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference engine over {@link Interval} records. Simple and allocation-heavy;
+ * kept as the behavioural baseline for {@link EpochIntervalEngine}.
+ */
+public final class InstantIntervalEngine implements IntervalEngine {
+
+  @Override
+  public IntervalSet.Builder builder(int expectedSize) {
+    List<Interval> list = new ArrayList<>(expectedSize);
+    return new IntervalSet.Builder() {
+      @Override
+      public IntervalSet.Builder add(long startMicros, long endMicros) {
+        list.add(new Interval(EpochMicros.toInstant(startMicros), EpochMicros.toInstant(endMicros)));
+        return this;
+      }
+
+      @Override
+      public IntervalSet build() {
+        return new IntervalList(list);
+      }
+    };
+  }
+
+  @Override
+  public IntervalSet subtract(IntervalSet available, IntervalSet busy) {
+    return new IntervalList(subtract(asList(available), asList(busy)));
+  }
+
+  @Override
+  public IntervalSet intersectAll(List<? extends IntervalSet> sets) {
+    return new IntervalList(intersectLists(sets.stream().map(InstantIntervalEngine::asList).toList()));
+  }
+
+  private static List<Interval> asList(IntervalSet set) {
+    return set instanceof IntervalList l ? l.intervals() : set.toIntervals();
+  }
+
+  // AVAILABLE - BUSY (both lists are sorted, non-overlapping within themselves)
+  public static List<Interval> subtract(List<Interval> available, List<Interval> busy) {
+    List<Interval> out = new ArrayList<>();
+    int j = 0;
+
+    for (Interval a : available) {
+      Instant cur = a.start();
+      while (j < busy.size() && !busy.get(j).end().isAfter(a.start())) j++; // busy ends before a starts
+
+      int k = j;
+      while (k < busy.size() && busy.get(k).start().isBefore(a.end())) {
+        Interval b = busy.get(k);
+
+        if (b.start().isAfter(cur)) {
+          out.add(new Interval(cur, min(b.start(), a.end())));
+        }
+        if (b.end().isAfter(cur)) {
+          cur = max(cur, b.end());
+        }
+        if (!a.end().isAfter(cur)) break;
+        k++;
+      }
+
+      if (a.end().isAfter(cur)) {
+        out.add(new Interval(cur, a.end()));
+      }
+    }
+    return out;
+  }
+
+  public static List<Interval> intersectLists(List<List<Interval>> lists) {
+    if (lists.isEmpty()) return List.of();
+    List<Interval> acc = lists.get(0);
+    for (int i = 1; i < lists.size(); i++) {
+      acc = intersectTwo(acc, lists.get(i));
+      if (acc.isEmpty()) break;
+    }
+    return acc;
+  }
+
+  public static List<Interval> intersectTwo(List<Interval> a, List<Interval> b) {
+    List<Interval> out = new ArrayList<>();
+    int i = 0, j = 0;
+    while (i < a.size() && j < b.size()) {
+      Interval x = a.get(i);
+      Interval y = b.get(j);
+
+      Instant start = max(x.start(), y.start());
+      Instant end = min(x.end(), y.end());
+      if (end.isAfter(start)) out.add(new Interval(start, end));
+
+      if (x.end().isBefore(y.end())) i++;
+      else j++;
+    }
+    return out;
+  }
+
+  static Instant max(Instant a, Instant b) { return a.isAfter(b) ? a : b; }
+  static Instant min(Instant a, Instant b) { return a.isBefore(b) ? a : b; }
+
+  record IntervalList(List<Interval> intervals) implements IntervalSet {
+    @Override public int size() { return intervals.size(); }
+    @Override public long startMicros(int i) { return EpochMicros.of(intervals.get(i).start()); }
+    @Override public long endMicros(int i) { return EpochMicros.of(intervals.get(i).end()); }
+    @Override public List<Interval> toIntervals() { return intervals; }
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.minidoodle.domain;
+
+/** How {@link IntervalEngine#intersectAll(java.util.List, IntersectStrategy)} combines many sets. */
+public enum IntersectStrategy {
+  /** Pairwise left fold; cheapest for a handful of sets. */
+  FOLD,
+  /** Single sweep over all sets with a min-heap of per-set cursors. */
+  K_WAY,
+  /** Fork-join divide and conquer; k-way sweeps at the leaves, pairwise merges on the way up. */
+  PARALLEL
+}
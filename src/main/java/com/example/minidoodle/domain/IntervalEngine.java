@@ -0,0 +1,23 @@
+package com.example.minidoodle.domain;
+
+import java.util.List;
+
+/**
+ * Free/busy interval arithmetic. All inputs are sorted and non-overlapping within themselves;
+ * every engine must produce the same intervals for the same inputs.
+ */
+public interface IntervalEngine {
+
+  IntervalSet.Builder builder(int expectedSize);
+
+  /** available - busy */
+  IntervalSet subtract(IntervalSet available, IntervalSet busy);
+
+  /** Intervals contained in every input set; empty when {@code sets} is empty. */
+  IntervalSet intersectAll(List<? extends IntervalSet> sets);
+
+  /** Same result as {@link #intersectAll(List)}; engines may ignore strategies they do not implement. */
+  default IntervalSet intersectAll(List<? extends IntervalSet> sets, IntersectStrategy strategy) {
+    return intersectAll(sets);
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.minidoodle.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorted, non-overlapping half-open intervals addressed by index, with bounds in epoch micros.
+ * Implementations are owned by an {@link IntervalEngine}.
+ */
+public interface IntervalSet {
+
+  int size();
+
+  long startMicros(int i);
+
+  long endMicros(int i);
+
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  default List<Interval> toIntervals() {
+    List<Interval> out = new ArrayList<>(size());
+    for (int i = 0; i < size(); i++) {
+      out.add(new Interval(EpochMicros.toInstant(startMicros(i)), EpochMicros.toInstant(endMicros(i))));
+    }
+    return out;
+  }
+
+  interface Builder {
+    /** Appends [startMicros, endMicros); callers add in ascending start order. */
+    Builder add(long startMicros, long endMicros);
+
+    IntervalSet build();
+  }
+}
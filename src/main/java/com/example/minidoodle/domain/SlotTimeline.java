@@ -0,0 +1,76 @@
+package com.example.minidoodle.domain;
+
+import java.util.Arrays;
+
+/**
+ * One user's slots as packed epoch-micros bounds sorted by start, with their status.
+ * A user's slots never overlap (time_slots_no_overlap), so ends are sorted as well and
+ * range lookups are a binary search followed by a forward scan.
+ */
+public final class SlotTimeline {
+
+  public static final SlotTimeline EMPTY = new SlotTimeline(new long[0], new SlotStatus[0], 0);
+
+  private final long[] bounds;
+  private final SlotStatus[] statuses;
+  private final int size;
+
+  private SlotTimeline(long[] bounds, SlotStatus[] statuses, int size) {
+    this.bounds = bounds;
+    this.statuses = statuses;
+    this.size = size;
+  }
+
+  public int size() { return size; }
+  public long startMicros(int i) { return bounds[2 * i]; }
+  public long endMicros(int i) { return bounds[2 * i + 1]; }
+  public SlotStatus status(int i) { return statuses[i]; }
+
+  /** Index of the first slot ending after {@code fromMicros}, or {@link #size()} if none. */
+  public int firstEndingAfter(long fromMicros) {
+    int lo = 0, hi = size;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (bounds[2 * mid + 1] > fromMicros) hi = mid;
+      else lo = mid + 1;
+    }
+    return lo;
+  }
+
+  public static Builder builder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  public static final class Builder {
+    private long[] bounds;
+    private SlotStatus[] statuses;
+    private int size;
+
+    private Builder(int expectedSize) {
+      int capacity = Math.max(expectedSize, 4);
+      this.bounds = new long[2 * capacity];
+      this.statuses = new SlotStatus[capacity];
+    }
+
+    /** Appends a slot; callers add in ascending start order. */
+    public Builder add(long startMicros, long endMicros, SlotStatus status) {
+      if (size == statuses.length) {
+        bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+        statuses = Arrays.copyOf(statuses, 2 * statuses.length);
+      }
+      bounds[2 * size] = startMicros;
+      bounds[2 * size + 1] = endMicros;
+      statuses[size] = status;
+      size++;
+      return this;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public SlotTimeline build() {
+      return size == 0 ? EMPTY : new SlotTimeline(bounds, statuses, size);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.minidoodle.infrastructure.cache;
+
+import com.example.minidoodle.application.UserChangedEvent;
+import com.example.minidoodle.application.UserSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Node-local cache of user rows, bounded by size and TTL. Only users known to exist are cached,
+ * so a hit lets write paths attach the user as a reference without selecting it. Entries are
+ * dropped after a committed {@link UserChangedEvent}.
+ */
+@Component
+public class UserCache {
+
+  private final boolean enabled;
+  private final Cache<UUID, UserSummary> cache;
+  private final Counter hits;
+  private final Counter misses;
+
+  public UserCache(@Value("${minidoodle.user-cache.enabled:true}") boolean enabled,
+                   @Value("${minidoodle.user-cache.max-size:100000}") long maxSize,
+                   @Value("${minidoodle.user-cache.expire-after-write:30m}") Duration expireAfterWrite,
+                   MeterRegistry registry) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(expireAfterWrite)
+        .build();
+
+    this.hits = Counter.builder("minidoodle.user.cache.requests").tag("result", "hit")
+        .description("User lookups served from the node-local cache").register(registry);
+    this.misses = Counter.builder("minidoodle.user.cache.requests").tag("result", "miss")
+        .description("User lookups that went to the database").register(registry);
+    Gauge.builder("minidoodle.user.cache.size", cache, Cache::estimatedSize).register(registry);
+  }
+
+  /** The cached user, or null. */
+  public UserSummary get(UUID id) {
+    UserSummary user = enabled ? cache.getIfPresent(id) : null;
+    (user != null ? hits : misses).increment();
+    return user;
+  }
+
+  public void put(UserSummary user) {
+    if (enabled) cache.put(user.id(), user);
+  }
+
+  // Also runs for changes made outside a transaction.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    cache.invalidate(event.userId());
+  }
+}
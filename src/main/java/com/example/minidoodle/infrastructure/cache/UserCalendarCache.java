@@ -0,0 +1,164 @@
+package com.example.minidoodle.infrastructure.cache;
+
+import com.example.minidoodle.application.CalendarChangedEvent;
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.SlotTimeline;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node-local cache of per-user {@link SlotTimeline}s, each covering a loaded window of whole UTC days.
+ * Bounded by total cached slots; Caffeine evicts by size/recency. Entries are dropped after
+ * the writing transaction commits ({@link CalendarChangedEvent}).
+ *
+ * <p>A load racing with a commit must not install pre-commit data. Invalidations bump a
+ * striped generation counter; a loader snapshots the counters before reading and removes
+ * its own entry again if the user's stripe moved in the meantime.
+ *
+ * <p>Each entry also records the user's calendar version, read in the transaction that loaded
+ * it, and hands it out with the timeline, so a hit needs no database round trip and a response
+ * tagged with a version never carries data older than it. Writes through this node drop the
+ * entry on commit; writes through other nodes are only seen once it expires, unless
+ * {@code verify-versions} makes every read check the current versions first (one primary-key
+ * lookup per request) and skip entries at an older one.
+ */
+@Component
+public class UserCalendarCache {
+
+  private static final int STRIPES = 1024;
+
+  private final boolean enabled;
+  private final boolean verifyVersions;
+  private final int maxSlotsPerUser;
+  private final Cache<UUID, Entry> cache;
+  private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+  private final Counter hits;
+  private final Counter misses;
+
+  public UserCalendarCache(@Value("${minidoodle.calendar-cache.enabled:true}") boolean enabled,
+                           @Value("${minidoodle.calendar-cache.max-slots:1000000}") long maxSlots,
+                           @Value("${minidoodle.calendar-cache.max-slots-per-user:20000}") int maxSlotsPerUser,
+                           @Value("${minidoodle.calendar-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                           @Value("${minidoodle.calendar-cache.verify-versions:false}") boolean verifyVersions,
+                           MeterRegistry registry) {
+    this.enabled = enabled;
+    this.verifyVersions = verifyVersions;
+    this.maxSlotsPerUser = maxSlotsPerUser;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxSlots)
+        .weigher((UUID id, Entry e) -> e.calendar().timeline().size() + 1)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+
+    this.hits = Counter.builder("minidoodle.calendar.cache.requests").tag("result", "hit")
+        .description("Per-user calendar lookups served from the node-local cache").register(registry);
+    this.misses = Counter.builder("minidoodle.calendar.cache.requests").tag("result", "miss")
+        .description("Per-user calendar lookups that went to the database").register(registry);
+    Gauge.builder("minidoodle.calendar.cache.size", cache, Cache::estimatedSize).register(registry);
+    FunctionCounter.builder("minidoodle.calendar.cache.evictions", cache, c -> c.stats().evictionCount())
+        .register(registry);
+  }
+
+  /** A user's timeline and the calendar version it was read at. */
+  public record Calendar(long version, SlotTimeline timeline) {}
+
+  @FunctionalInterface
+  public interface Loader {
+    /**
+     * Calendars of every user in {@code userIds}, each timeline covering every slot that overlaps
+     * [from, to), read in one transaction after the versions.
+     */
+    Map<UUID, Calendar> load(List<UUID> userIds, Instant from, Instant to);
+  }
+
+  /**
+   * Whether {@link #getAll} callers must pass the current versions. Reading them costs a database
+   * round trip per request, which is otherwise only paid on a miss.
+   */
+  public boolean verifyVersions() {
+    return enabled && verifyVersions;
+  }
+
+  /**
+   * Calendars covering [from, to) for every requested user; only users without a covering entry
+   * are loaded. If not null, {@code current} holds versions read before calling, and entries at
+   * another version count as missing; it is required with {@link #verifyVersions()}.
+   */
+  public Map<UUID, Calendar> getAll(Collection<UUID> userIds, Instant from, Instant to,
+                                    Map<UUID, Long> current, Loader loader) {
+    Map<UUID, Calendar> out = new HashMap<>();
+    List<UUID> missing = new ArrayList<>();
+    long fromMicros = EpochMicros.of(from);
+    long toMicros = EpochMicros.of(to);
+
+    for (UUID id : new LinkedHashSet<>(userIds)) {
+      Entry e = enabled ? cache.getIfPresent(id) : null;
+      if (e != null && e.covers(fromMicros, toMicros)
+          && (current == null || e.calendar().version() == current.getOrDefault(id, 0L))) {
+        out.put(id, e.calendar());
+      } else {
+        missing.add(id);
+      }
+    }
+    hits.increment(out.size());
+    misses.increment(missing.size());
+    if (missing.isEmpty()) return out;
+
+    Instant windowFrom = from.truncatedTo(ChronoUnit.DAYS);
+    Instant windowTo = to.truncatedTo(ChronoUnit.DAYS);
+    if (windowTo.isBefore(to)) windowTo = windowTo.plus(1, ChronoUnit.DAYS);
+
+    long[] stamps = new long[missing.size()];
+    for (int i = 0; i < stamps.length; i++) stamps[i] = generations.get(stripe(missing.get(i)));
+
+    Map<UUID, Calendar> loaded = loader.load(missing, windowFrom, windowTo);
+
+    for (int i = 0; i < stamps.length; i++) {
+      UUID id = missing.get(i);
+      Calendar calendar = loaded.get(id);
+      out.put(id, calendar);
+      if (!enabled || calendar.timeline().size() > maxSlotsPerUser) continue;
+
+      Entry e = new Entry(EpochMicros.of(windowFrom), EpochMicros.of(windowTo), calendar);
+      cache.put(id, e);
+      if (generations.get(stripe(id)) != stamps[i]) cache.asMap().remove(id, e);
+    }
+    return out;
+  }
+
+  public void invalidate(Collection<UUID> userIds) {
+    for (UUID id : userIds) {
+      generations.incrementAndGet(stripe(id));
+      cache.invalidate(id);
+    }
+  }
+
+  @TransactionalEventListener
+  void onCalendarChanged(CalendarChangedEvent event) {
+    invalidate(event.userIds());
+  }
+
+  private static int stripe(UUID id) {
+    return (id.hashCode() & Integer.MAX_VALUE) % STRIPES;
+  }
+
+  private record Entry(long fromMicros, long toMicros, Calendar calendar) {
+    boolean covers(long from, long to) {
+      return fromMicros <= from && to <= toMicros;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -12,6 +13,9 @@ import java.util.UUID;
 @Table(name = "time_slots")
 public class TimeSlotEntity {
 
+  /** Longest slot allowed (time_slots_max_duration); range queries rely on it to prune partitions. */
+  public static final Duration MAX_DURATION = Duration.ofDays(31);
+
   @Id
   private UUID id;
 
@@ -0,0 +1,37 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code calendar_versions}: a per-user counter bumped by every committed change to the user's
+ * slots (see {@code V4__calendar_versions.sql} and {@link UserFreeIntervalJdbcRepository#refresh}).
+ */
+@Repository
+public class CalendarVersionJdbcRepository {
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  public CalendarVersionJdbcRepository(NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /** Current version of every user in {@code userIds}; users that never changed are at 0. */
+  public Map<UUID, Long> versions(Collection<UUID> userIds) {
+    Map<UUID, Long> out = new HashMap<>();
+    if (userIds.isEmpty()) return out;
+    for (UUID id : userIds) out.put(id, 0L);
+    jdbc.query("select user_id, version from calendar_versions where user_id in (:userIds)",
+        new MapSqlParameterSource("userIds", userIds),
+        rs -> {
+          out.put(rs.getObject(1, UUID.class), rs.getLong(2));
+        });
+    return out;
+  }
+}
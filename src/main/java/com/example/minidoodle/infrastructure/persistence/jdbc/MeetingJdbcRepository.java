@@ -0,0 +1,94 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain-JDBC reads of {@code meetings}: the organizer and participant ids come from the foreign
+ * key columns, so a meeting is read without loading its users, and any number of meetings take
+ * one query.
+ */
+@Repository
+public class MeetingJdbcRepository {
+
+  private static final RowMapper<MeetingRow> MEETING_ROW = (rs, i) -> new MeetingRow(
+      rs.getObject("id", UUID.class),
+      rs.getObject("organizer_id", UUID.class),
+      rs.getObject("start_ts", OffsetDateTime.class).toInstant(),
+      rs.getObject("end_ts", OffsetDateTime.class).toInstant(),
+      rs.getString("title"),
+      rs.getString("description"),
+      uuids(rs.getArray("participant_ids"))
+  );
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final int batchSize;
+
+  public MeetingJdbcRepository(NamedParameterJdbcTemplate jdbc,
+                               @Value("${minidoodle.jdbc.batch-size:500}") int batchSize) {
+    this.jdbc = jdbc;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * The meetings among {@code ids} that exist, in no particular order, each with its participant
+   * ids (ascending; read from the {@code meeting_participants} primary key).
+   */
+  public List<MeetingRow> findAllById(Collection<UUID> ids) {
+    if (ids.isEmpty()) return List.of();
+    String sql = """
+        select m.id, m.organizer_id, m.start_ts, m.end_ts, m.title, m.description,
+               array(select p.user_id from meeting_participants p
+                     where p.meeting_id = m.id order by p.user_id) as participant_ids
+        from meetings m
+        where m.id in (:ids)
+        """;
+    return jdbc.query(sql, new MapSqlParameterSource("ids", ids), MEETING_ROW);
+  }
+
+  /** Inserts {@code meetings} and their participants with batched statements. */
+  public void insertAll(List<MeetingRow> meetings, Instant createdAt) {
+    if (meetings.isEmpty()) return;
+    var ts = createdAt.atOffset(ZoneOffset.UTC);
+    var template = jdbc.getJdbcTemplate();
+    template.batchUpdate("""
+        insert into meetings (id, organizer_id, start_ts, end_ts, title, description, created_at)
+        values (?, ?, ?, ?, ?, ?, ?)
+        """, meetings, batchSize, (ps, m) -> {
+      ps.setObject(1, m.id());
+      ps.setObject(2, m.organizerId());
+      ps.setObject(3, m.start().atOffset(ZoneOffset.UTC));
+      ps.setObject(4, m.end().atOffset(ZoneOffset.UTC));
+      ps.setString(5, m.title());
+      ps.setString(6, m.description());
+      ps.setObject(7, ts);
+    });
+
+    List<UUID[]> participants = new ArrayList<>();
+    for (MeetingRow m : meetings) {
+      for (UUID userId : m.participantIds()) participants.add(new UUID[] {m.id(), userId});
+    }
+    template.batchUpdate("insert into meeting_participants (meeting_id, user_id) values (?, ?)",
+        participants, batchSize, (ps, p) -> {
+          ps.setObject(1, p[0]);
+          ps.setObject(2, p[1]);
+        });
+  }
+
+  private static List<UUID> uuids(Array array) throws SQLException {
+    return List.of((UUID[]) array.getArray());
+  }
+}
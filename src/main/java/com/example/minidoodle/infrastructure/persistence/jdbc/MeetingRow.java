@@ -0,0 +1,16 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/** Read-only projection of a {@code meetings} row with the ids of its participants. */
+public record MeetingRow(
+    UUID id,
+    UUID organizerId,
+    Instant start,
+    Instant end,
+    String title,
+    String description,
+    List<UUID> participantIds
+) {}
@@ -0,0 +1,16 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import com.example.minidoodle.domain.SlotStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Read-only projection of a {@code time_slots} row. */
+public record SlotRow(
+    UUID id,
+    UUID userId,
+    Instant start,
+    Instant end,
+    SlotStatus status,
+    UUID meetingId
+) {}
@@ -0,0 +1,317 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.SlotStatus;
+import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain-JDBC reads of {@code time_slots} for hot paths that do not need managed entities.
+ * Bounds are selected as epoch microseconds so rows are consumed without per-row temporal objects.
+ *
+ * <p>{@code time_slots} is partitioned by {@code start_ts} month. Range queries use {@code &&} on
+ * the slot range and also bound {@code start_ts} from below (a slot lasts at most
+ * {@link TimeSlotEntity#MAX_DURATION}), so only the partitions of the queried range are scanned.
+ * {@code ops/explain/slot-overlap.sql} compares the plans.
+ */
+@Repository
+public class TimeSlotJdbcRepository {
+
+  private static final String MICROS = "(extract(epoch from %1$s) * 1000000)::bigint";
+
+  // Matches the GiST index behind each partition's no-overlap constraint, so the scan is
+  // bounded on both ends of the range instead of walking start_ts up to :to.
+  private static final String OVERLAPS = "tstzrange(start_ts, end_ts, '[)') && tstzrange(:from, :to, '[)')";
+
+  private static final RowMapper<SlotRow> SLOT_ROW = (rs, i) -> new SlotRow(
+      rs.getObject("id", UUID.class),
+      rs.getObject("user_id", UUID.class),
+      rs.getObject("start_ts", OffsetDateTime.class).toInstant(),
+      rs.getObject("end_ts", OffsetDateTime.class).toInstant(),
+      SlotStatus.valueOf(rs.getString("status")),
+      rs.getObject("meeting_id", UUID.class)
+  );
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final NamedParameterJdbcTemplate cursorJdbc;
+  private final int batchSize;
+
+  public TimeSlotJdbcRepository(DataSource dataSource,
+                                NamedParameterJdbcTemplate jdbc,
+                                @Value("${minidoodle.jdbc.cursor-fetch-size:1000}") int fetchSize,
+                                @Value("${minidoodle.jdbc.batch-size:500}") int batchSize) {
+    this.jdbc = jdbc;
+    this.batchSize = batchSize;
+    // A positive fetch size makes the Postgres driver read through a server-side cursor
+    // (inside a transaction) instead of buffering the whole result.
+    var cursor = new JdbcTemplate(dataSource);
+    cursor.setFetchSize(fetchSize);
+    this.cursorJdbc = new NamedParameterJdbcTemplate(cursor);
+  }
+
+  public Optional<SlotRow> findById(UUID id) {
+    String sql = """
+        select id, user_id, start_ts, end_ts, status, meeting_id
+        from time_slots
+        where id = :id
+        """;
+    return jdbc.query(sql, new MapSqlParameterSource("id", id), SLOT_ROW).stream().findFirst();
+  }
+
+  /**
+   * Books {@code seen}, a slot read earlier without a lock, for {@code meetingId} with a single
+   * conditional update. Returns false if the slot is no longer AVAILABLE or no longer has the
+   * owner and times it was read with; the row lock lasts until commit.
+   */
+  public boolean claim(SlotRow seen, UUID meetingId, Instant now) {
+    String sql = """
+        update time_slots
+        set status = 'BUSY', meeting_id = :meetingId, updated_at = :now, version = version + 1
+        where id = :id
+          and user_id = :userId
+          and start_ts = :start
+          and end_ts = :end
+          and status = 'AVAILABLE'
+        """;
+    var params = new MapSqlParameterSource()
+        .addValue("id", seen.id())
+        .addValue("userId", seen.userId())
+        .addValue("start", seen.start().atOffset(ZoneOffset.UTC))
+        .addValue("end", seen.end().atOffset(ZoneOffset.UTC))
+        .addValue("meetingId", meetingId)
+        .addValue("now", now.atOffset(ZoneOffset.UTC));
+    return jdbc.update(sql, params) == 1;
+  }
+
+  /**
+   * Locks the slots among {@code slotIds} that exist (SELECT FOR UPDATE) in id order, so that
+   * transactions locking several slots always take the locks in the same order.
+   */
+  public List<SlotRow> lockAllForUpdate(Collection<UUID> slotIds) {
+    if (slotIds.isEmpty()) return List.of();
+    String sql = """
+        select id, user_id, start_ts, end_ts, status, meeting_id
+        from time_slots
+        where id in (:ids)
+        order by id
+        for update
+        """;
+    return jdbc.query(sql, new MapSqlParameterSource("ids", slotIds), SLOT_ROW);
+  }
+
+  /** Batched {@link #claim} of each slot for its {@code meetingId}; the flags tell which were claimed. */
+  public boolean[] claimAll(List<SlotRow> slots, Instant now) {
+    String sql = """
+        update time_slots
+        set status = 'BUSY', meeting_id = ?, updated_at = ?, version = version + 1
+        where id = ?
+          and user_id = ?
+          and status = 'AVAILABLE'
+        """;
+    var ts = now.atOffset(ZoneOffset.UTC);
+    int[][] counts = jdbc.getJdbcTemplate().batchUpdate(sql, slots, batchSize, (ps, s) -> {
+      ps.setObject(1, s.meetingId());
+      ps.setObject(2, ts);
+      ps.setObject(3, s.id());
+      ps.setObject(4, s.userId());
+    });
+    boolean[] claimed = new boolean[slots.size()];
+    int i = 0;
+    for (int[] batch : counts) {
+      for (int c : batch) claimed[i++] = c > 0;
+    }
+    return claimed;
+  }
+
+  /**
+   * Takes the per-user lock of the overlap trigger for each of {@code userIds}, in the order
+   * {@link #insertSkippingOverlaps} inserts in, until the end of the transaction. No other
+   * transaction can add or move a slot of those users meanwhile, so overlap checks made after
+   * this stay true until commit.
+   */
+  public void lockUsers(Collection<UUID> userIds) {
+    if (userIds.isEmpty()) return;
+    UUID[] ids = userIds.stream().distinct().sorted().toArray(UUID[]::new);
+    jdbc.getJdbcTemplate().query(con -> {
+      var ps = con.prepareStatement("select pg_advisory_xact_lock(hashtextextended(u::text, 0)) from unnest(?) as t(u)");
+      ps.setArray(1, con.createArrayOf("uuid", ids));
+      return ps;
+    }, rs -> null);
+  }
+
+  /** For each of {@code rows}, whether an existing slot of its user overlaps it; one query for all rows. */
+  public boolean[] overlapsExisting(List<SlotRow> rows) {
+    boolean[] overlaps = new boolean[rows.size()];
+    if (rows.isEmpty()) return overlaps;
+    String sql = """
+        select w.n
+        from unnest(?, ?, ?) with ordinality as w(user_id, from_us, to_us, n)
+        cross join lateral (
+          select timestamptz 'epoch' + w.from_us * interval '1 microsecond' as from_ts,
+                 timestamptz 'epoch' + w.to_us * interval '1 microsecond' as to_ts
+        ) r
+        where exists (
+          select 1 from time_slots s
+          where s.user_id = w.user_id
+            and tstzrange(s.start_ts, s.end_ts, '[)') && tstzrange(r.from_ts, r.to_ts, '[)')
+            and s.start_ts > r.from_ts - interval '31 days'
+            and s.start_ts < r.to_ts
+        )
+        """;
+    UUID[] userIds = new UUID[rows.size()];
+    Long[] from = new Long[rows.size()];
+    Long[] to = new Long[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      userIds[i] = rows.get(i).userId();
+      from[i] = EpochMicros.of(rows.get(i).start());
+      to[i] = EpochMicros.of(rows.get(i).end());
+    }
+    jdbc.getJdbcTemplate().query(con -> {
+      var ps = con.prepareStatement(sql);
+      ps.setArray(1, con.createArrayOf("uuid", userIds));
+      ps.setArray(2, con.createArrayOf("bigint", from));
+      ps.setArray(3, con.createArrayOf("bigint", to));
+      return ps;
+    }, rs -> {
+      overlaps[(int) rs.getLong(1) - 1] = true;
+    });
+    return overlaps;
+  }
+
+  /**
+   * Up to {@code limit} slots of one user overlapping [from, to), optionally filtered by status,
+   * ordered by (start, id) and strictly after ({@code afterStart}, {@code afterId}) when those are
+   * given. Walks {@code idx_time_slots_user_start} in order and stops after the page, so a page
+   * costs the same wherever it lies in the range; {@code &&} on the GiST index would have to find
+   * and sort every match first.
+   */
+  public List<SlotRow> findPage(UUID userId, SlotStatus status, Instant from, Instant to,
+                                Instant afterStart, UUID afterId, int limit) {
+    String sql = """
+        select id, user_id, start_ts, end_ts, status, meeting_id
+        from time_slots
+        where user_id = :userId
+          %s
+          and end_ts > :from
+          and start_ts > :earliestStart
+          and start_ts < :to
+          %s
+        order by start_ts, id
+        limit :limit
+        """.formatted(
+            status == null ? "" : "and status = cast(:status as slot_status)",
+            afterStart == null ? "" : "and start_ts >= :afterStart and (start_ts, id) > (:afterStart, :afterId)");
+    var params = range(from, to)
+        .addValue("userId", userId)
+        .addValue("status", status == null ? null : status.name())
+        .addValue("afterStart", afterStart == null ? null : afterStart.atOffset(ZoneOffset.UTC))
+        .addValue("afterId", afterId)
+        .addValue("limit", limit);
+    return jdbc.query(sql, params, SLOT_ROW);
+  }
+
+  @FunctionalInterface
+  public interface SlotRowHandler {
+    void row(UUID userId, long startMicros, long endMicros, boolean busy);
+  }
+
+  /** Users among {@code userIds} that have any slot overlapping [from, to). */
+  public List<UUID> findUsersWithOverlap(Collection<UUID> userIds, Instant from, Instant to) {
+    String sql = """
+        select distinct user_id
+        from time_slots
+        where user_id in (:userIds)
+          and %s
+          and start_ts > :earliestStart
+          and start_ts < :to
+        """.formatted(OVERLAPS);
+    var params = range(from, to).addValue("userIds", userIds);
+    return jdbc.queryForList(sql, params, UUID.class);
+  }
+
+  /**
+   * Inserts {@code rows} with batched statements. A row that would overlap another slot of the same
+   * user (time_slots_no_overlap, including rows earlier in the same call) is skipped rather than
+   * failing the transaction; the returned flags tell which rows were inserted. Must run inside a
+   * transaction: overlaps across partitions are only skipped while {@code minidoodle.on_overlap} is
+   * set for it.
+   */
+  public boolean[] insertSkippingOverlaps(List<SlotRow> rows, Instant now) {
+    String sql = """
+        insert into time_slots (id, user_id, start_ts, end_ts, status, meeting_id, created_at, updated_at, version)
+        values (?, ?, ?, ?, cast(? as slot_status), ?, ?, ?, 0)
+        on conflict do nothing
+        """;
+    // Inserted by user so that concurrent batches take the per-user overlap locks in the same order
+    Integer[] order = new Integer[rows.size()];
+    for (int i = 0; i < order.length; i++) order[i] = i;
+    Arrays.sort(order, Comparator.comparing(i -> rows.get(i).userId()));
+
+    var ts = now.atOffset(ZoneOffset.UTC);
+    var template = jdbc.getJdbcTemplate();
+    template.queryForObject("select set_config('minidoodle.on_overlap', 'skip', true)", String.class);
+    int[][] counts = template.batchUpdate(sql, Arrays.asList(order), batchSize, (ps, index) -> {
+      SlotRow r = rows.get(index);
+      ps.setObject(1, r.id());
+      ps.setObject(2, r.userId());
+      ps.setObject(3, r.start().atOffset(ZoneOffset.UTC));
+      ps.setObject(4, r.end().atOffset(ZoneOffset.UTC));
+      ps.setString(5, r.status().name());
+      ps.setObject(6, r.meetingId());
+      ps.setObject(7, ts);
+      ps.setObject(8, ts);
+    });
+    template.queryForObject("select set_config('minidoodle.on_overlap', '', true)", String.class);
+
+    boolean[] inserted = new boolean[rows.size()];
+    int i = 0;
+    for (int[] batch : counts) {
+      for (int c : batch) inserted[order[i++]] = c > 0;
+    }
+    return inserted;
+  }
+
+  /**
+   * Streams every slot of {@code userIds} overlapping [from, to), ordered by (user_id, start_ts).
+   * Must run inside a transaction for the cursor to be used.
+   */
+  public void streamUsersInRange(Collection<UUID> userIds, Instant from, Instant to, SlotRowHandler handler) {
+    String sql = """
+        select user_id, %s as start_us, %s as end_us, status = 'BUSY' as busy
+        from time_slots
+        where user_id in (:userIds)
+          and %s
+          and start_ts > :earliestStart
+          and start_ts < :to
+        order by user_id, start_ts
+        """.formatted(MICROS.formatted("start_ts"), MICROS.formatted("end_ts"), OVERLAPS);
+    var params = range(from, to).addValue("userIds", userIds);
+    cursorJdbc.query(sql, params, rs -> {
+      handler.row(rs.getObject(1, UUID.class), rs.getLong(2), rs.getLong(3), rs.getBoolean(4));
+    });
+  }
+
+  // [from, to) plus the earliest start a slot overlapping it can have, for partition pruning
+  private static MapSqlParameterSource range(Instant from, Instant to) {
+    return new MapSqlParameterSource()
+        .addValue("from", from.atOffset(ZoneOffset.UTC))
+        .addValue("to", to.atOffset(ZoneOffset.UTC))
+        .addValue("earliestStart", from.minus(TimeSlotEntity.MAX_DURATION).atOffset(ZoneOffset.UTC));
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the monthly {@code time_slots} partitions created {@code monthsAhead} months in advance,
+ * at startup and then every {@code checkInterval}. Slots outside every partition still land in
+ * {@code time_slots_default} and are moved once their month is created.
+ */
+@Component
+public class TimeSlotPartitions implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(TimeSlotPartitions.class);
+
+  private final JdbcTemplate jdbc;
+  private final int monthsAhead;
+  private final ScheduledExecutorService scheduler;
+
+  public TimeSlotPartitions(JdbcTemplate jdbc,
+                            @Value("${minidoodle.slots.partitions.months-ahead:12}") int monthsAhead,
+                            @Value("${minidoodle.slots.partitions.check-interval:12h}") Duration checkInterval) {
+    this.jdbc = jdbc;
+    this.monthsAhead = monthsAhead;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "time-slot-partitions");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::ensure, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Creates the missing partitions from the current month through {@code monthsAhead}; returns how many. */
+  public int ensure() {
+    var now = OffsetDateTime.now(ZoneOffset.UTC);
+    try {
+      Integer created = jdbc.queryForObject("select time_slots_ensure_partitions(?, ?)", Integer.class,
+          now, now.plusMonths(monthsAhead + 1L));
+      if (created != null && created > 0) log.info("created {} time_slots partition(s)", created);
+      return created == null ? 0 : created;
+    } catch (RuntimeException e) {
+      log.warn("time_slots partition maintenance failed: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
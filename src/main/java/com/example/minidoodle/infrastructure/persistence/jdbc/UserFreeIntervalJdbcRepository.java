@@ -0,0 +1,100 @@
+package com.example.minidoodle.infrastructure.persistence.jdbc;
+
+import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
+import com.example.minidoodle.infrastructure.persistence.jdbc.TimeSlotJdbcRepository.SlotRowHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * {@code user_free_intervals}: each user's free time (AVAILABLE minus BUSY), stored coalesced and
+ * refreshed per changed window in the writing transaction. See {@code V3__user_free_intervals.sql}.
+ */
+@Repository
+public class UserFreeIntervalJdbcRepository {
+
+  private static final String MICROS = "(extract(epoch from %1$s) * 1000000)::bigint";
+
+  private final JdbcTemplate jdbc;
+  private final NamedParameterJdbcTemplate cursorJdbc;
+
+  public UserFreeIntervalJdbcRepository(DataSource dataSource,
+                                        JdbcTemplate jdbc,
+                                        @Value("${minidoodle.jdbc.cursor-fetch-size:1000}") int fetchSize) {
+    this.jdbc = jdbc;
+    var cursor = new JdbcTemplate(dataSource);
+    cursor.setFetchSize(fetchSize);
+    this.cursorJdbc = new NamedParameterJdbcTemplate(cursor);
+  }
+
+  /**
+   * Recomputes the free time of {@code userIds[i]} within [{@code fromMicros[i]}, {@code toMicros[i]})
+   * and bumps the users' {@code calendar_versions}, in one round trip. Windows are processed in user
+   * order, which keeps the per-user refresh locks and version rows in a consistent order across
+   * transactions.
+   */
+  public void refresh(UUID[] userIds, long[] fromMicros, long[] toMicros) {
+    if (userIds.length == 0) return;
+    String sql = """
+        select calendar_changed(w.user_id,
+                                timestamptz 'epoch' + w.from_us * interval '1 microsecond',
+                                timestamptz 'epoch' + w.to_us * interval '1 microsecond')
+        from (select * from unnest(?, ?, ?) as c(user_id, from_us, to_us) order by user_id, from_us) w
+        """;
+    Long[] from = new Long[fromMicros.length];
+    Long[] to = new Long[toMicros.length];
+    for (int i = 0; i < from.length; i++) {
+      from[i] = fromMicros[i];
+      to[i] = toMicros[i];
+    }
+    jdbc.query(con -> {
+      var ps = con.prepareStatement(sql);
+      ps.setArray(1, con.createArrayOf("uuid", userIds));
+      ps.setArray(2, con.createArrayOf("bigint", from));
+      ps.setArray(3, con.createArrayOf("bigint", to));
+      return ps;
+    }, rs -> null);
+  }
+
+  /**
+   * Streams the free intervals (busy = false) and BUSY slots (busy = true) of {@code userIds}
+   * overlapping [from, to), ordered by (user_id, start_ts). The two never overlap, so free time
+   * needs no subtraction. Must run inside a transaction for the cursor to be used.
+   */
+  public void streamUsersInRange(Collection<UUID> userIds, Instant from, Instant to, SlotRowHandler handler) {
+    String sql = """
+        select user_id, %s as start_us, %s as end_us, busy
+        from (
+          select user_id, start_ts, end_ts, false as busy
+          from user_free_intervals
+          where user_id in (:userIds)
+            and tstzrange(start_ts, end_ts, '[]') && tstzrange(:from, :to, '()')
+          union all
+          select user_id, start_ts, end_ts, true
+          from time_slots
+          where user_id in (:userIds)
+            and status = 'BUSY'
+            and tstzrange(start_ts, end_ts, '[)') && tstzrange(:from, :to, '[)')
+            and start_ts > :earliestStart
+            and start_ts < :to
+        ) calendar
+        order by user_id, start_ts
+        """.formatted(MICROS.formatted("start_ts"), MICROS.formatted("end_ts"));
+    var params = new MapSqlParameterSource()
+        .addValue("userIds", userIds)
+        .addValue("from", from.atOffset(ZoneOffset.UTC))
+        .addValue("to", to.atOffset(ZoneOffset.UTC))
+        .addValue("earliestStart", from.minus(TimeSlotEntity.MAX_DURATION).atOffset(ZoneOffset.UTC));
+    cursorJdbc.query(sql, params, rs -> {
+      handler.row(rs.getObject(1, UUID.class), rs.getLong(2), rs.getLong(3), rs.getBoolean(4));
+    });
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.minidoodle.infrastructure.persistence.r2dbc;
+
+import com.example.minidoodle.infrastructure.persistence.entity.TimeSlotEntity;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterparts of the calendar range reads in {@code TimeSlotJdbcRepository} and
+ * {@code UserFreeIntervalJdbcRepository}, over a small R2DBC connection pool. Rows are fetched
+ * {@code fetchSize} at a time as the subscriber requests them, so a slow consumer holds the
+ * query open instead of buffering its result.
+ *
+ * <p>Not a Spring bean of type {@code ConnectionFactory} on purpose: one would make Spring Boot
+ * back off from the JDBC {@code DataSource}.
+ */
+public class CalendarR2dbcRepository implements AutoCloseable {
+
+  private static final String MICROS = "(extract(epoch from %1$s) * 1000000)::bigint";
+
+  private static final String SLOTS = """
+      select user_id, %s as start_us, %s as end_us, status = 'BUSY' as busy
+      from time_slots
+      where user_id = any($1)
+        and tstzrange(start_ts, end_ts, '[)') && tstzrange($2, $3, '[)')
+        and start_ts > $4
+        and start_ts < $3
+      order by user_id, start_ts
+      """.formatted(MICROS.formatted("start_ts"), MICROS.formatted("end_ts"));
+
+  private static final String FREE_AND_BUSY = """
+      select user_id, %s as start_us, %s as end_us, busy
+      from (
+        select user_id, start_ts, end_ts, false as busy
+        from user_free_intervals
+        where user_id = any($1)
+          and tstzrange(start_ts, end_ts, '[]') && tstzrange($2, $3, '()')
+        union all
+        select user_id, start_ts, end_ts, true
+        from time_slots
+        where user_id = any($1)
+          and status = 'BUSY'
+          and tstzrange(start_ts, end_ts, '[)') && tstzrange($2, $3, '[)')
+          and start_ts > $4
+          and start_ts < $3
+      ) calendar
+      order by user_id, start_ts
+      """.formatted(MICROS.formatted("start_ts"), MICROS.formatted("end_ts"));
+
+  private final ConnectionPool pool;
+  private final int fetchSize;
+
+  public CalendarR2dbcRepository(String url, String username, String password,
+                                 int maxConnections, Duration maxAcquireTime, int fetchSize) {
+    var options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .build();
+    this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+        .name("reactive")
+        .initialSize(0)
+        .maxSize(maxConnections)
+        .maxAcquireTime(maxAcquireTime)
+        .build());
+    this.fetchSize = fetchSize;
+  }
+
+  public record CalendarRow(UUID userId, long startMicros, long endMicros, boolean busy) {}
+
+  /** Every slot of {@code userIds} overlapping [from, to), ordered by (user_id, start_ts). */
+  public Flux<CalendarRow> streamSlots(List<UUID> userIds, Instant from, Instant to) {
+    return query(SLOTS, userIds, from, to);
+  }
+
+  /** Free intervals (busy = false) and BUSY slots of {@code userIds} overlapping [from, to), ordered by (user_id, start_ts). */
+  public Flux<CalendarRow> streamFreeAndBusy(List<UUID> userIds, Instant from, Instant to) {
+    return query(FREE_AND_BUSY, userIds, from, to);
+  }
+
+  private Flux<CalendarRow> query(String sql, List<UUID> userIds, Instant from, Instant to) {
+    return Flux.usingWhen(pool.create(),
+        connection -> Flux.from(connection.createStatement(sql)
+                .bind("$1", userIds.toArray(UUID[]::new))
+                .bind("$2", utc(from))
+                .bind("$3", utc(to))
+                .bind("$4", utc(from.minus(TimeSlotEntity.MAX_DURATION)))
+                .fetchSize(fetchSize)
+                .execute())
+            .flatMap(result -> result.map((row, meta) -> new CalendarRow(
+                row.get(0, UUID.class),
+                row.get(1, Long.class),
+                row.get(2, Long.class),
+                row.get(3, Boolean.class)))),
+        Connection::close);
+  }
+
+  private static OffsetDateTime utc(Instant instant) {
+    return instant.atOffset(ZoneOffset.UTC);
+  }
+
+  /** Pool gauges: idle and acquired connections, and subscribers waiting for one. */
+  public int idle() {
+    return pool.getMetrics().map(m -> m.idleSize()).orElse(0);
+  }
+
+  public int acquired() {
+    return pool.getMetrics().map(m -> m.acquiredSize()).orElse(0);
+  }
+
+  public int pending() {
+    return pool.getMetrics().map(m -> m.pendingAcquireSize()).orElse(0);
+  }
+
+  @Override
+  public void close() {
+    pool.dispose();
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.minidoodle.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that sends read-only work to the primary. Must be entered before the
+ * transaction's first statement, since that is when the routed connection is acquired.
+ */
+public final class ReadRouting {
+  private ReadRouting() {}
+
+  private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+  public static <T> T onPrimary(Supplier<T> work) {
+    Boolean previous = PRIMARY.get();
+    PRIMARY.set(Boolean.TRUE);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) PRIMARY.remove();
+      else PRIMARY.set(previous);
+    }
+  }
+
+  static boolean primaryRequired() {
+    return PRIMARY.get() != null;
+  }
+}
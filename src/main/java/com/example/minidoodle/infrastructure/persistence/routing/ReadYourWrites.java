@@ -0,0 +1,81 @@
+package com.example.minidoodle.infrastructure.persistence.routing;
+
+import com.example.minidoodle.application.CalendarChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Replica-lag guard for callers that just wrote: for {@code sticky-window} after a committed
+ * change to a user's calendar, reads involving that user go to the primary. Lookups by id that
+ * come back empty from the replica are retried on the primary. No-op without a replica.
+ */
+@Component
+public class ReadYourWrites {
+
+  private final boolean enabled;
+  private final Cache<UUID, Boolean> recentWriters;
+  private final Counter stickyReads;
+  private final Counter fallbacks;
+
+  public ReadYourWrites(@Value("${minidoodle.datasource.replica.url:}") String replicaUrl,
+                        @Value("${minidoodle.datasource.replica.sticky-window:15s}") Duration stickyWindow,
+                        MeterRegistry registry) {
+    this.enabled = !replicaUrl.isEmpty() && !stickyWindow.isZero();
+    this.recentWriters = Caffeine.newBuilder()
+        .expireAfterWrite(enabled ? stickyWindow : Duration.ofSeconds(1))
+        .maximumSize(1_000_000)
+        .build();
+    this.stickyReads = Counter.builder("minidoodle.datasource.sticky.reads")
+        .description("Read-only work sent to the primary because a user wrote recently").register(registry);
+    this.fallbacks = Counter.builder("minidoodle.datasource.replica.fallbacks")
+        .description("Lookups retried on the primary after missing on the replica").register(registry);
+  }
+
+  /** Runs {@code work} on the primary if any of {@code userIds} wrote within the sticky window. */
+  public <T> T read(Collection<UUID> userIds, Supplier<T> work) {
+    if (enabled) {
+      for (UUID id : userIds) {
+        if (recentWriters.getIfPresent(id) != null) {
+          stickyReads.increment();
+          return ReadRouting.onPrimary(work);
+        }
+      }
+    }
+    return work.get();
+  }
+
+  /** Runs {@code lookup} (which must open its own transaction) and retries it on the primary when empty. */
+  public <T> Optional<T> find(Supplier<Optional<T>> lookup) {
+    return find(lookup, Optional::isPresent);
+  }
+
+  /** Like {@link #find(Supplier)} for lookups of several ids: retried on the primary unless {@code complete}. */
+  public <T> T find(Supplier<T> lookup, Predicate<T> complete) {
+    T found = lookup.get();
+    if (complete.test(found) || !enabled) return found;
+    fallbacks.increment();
+    return ReadRouting.onPrimary(lookup);
+  }
+
+  // Ahead of the calendar cache invalidation, so loads racing with it are either discarded or sticky.
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener
+  public void onCalendarChanged(CalendarChangedEvent event) {
+    if (!enabled) return;
+    for (UUID id : event.userIds()) recentWriters.put(id, Boolean.TRUE);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.minidoodle.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Target for read-only transactions. Hands out replica connections unless the current thread
+ * asked for the primary ({@link ReadRouting}) or the replica is lagging too far behind.
+ */
+final class ReplicaDataSource extends DelegatingDataSource {
+
+  private final DataSource primary;
+  private final ReplicaLagMonitor lag;
+  private final Counter replicaReads;
+  private final Counter primaryReads;
+
+  ReplicaDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor lag, MeterRegistry registry) {
+    super(replica);
+    this.primary = primary;
+    this.lag = lag;
+    this.replicaReads = reads(registry, "replica");
+    this.primaryReads = reads(registry, "primary");
+  }
+
+  private static Counter reads(MeterRegistry registry, String target) {
+    return Counter.builder("minidoodle.datasource.reads").tag("target", target)
+        .description("Connections acquired for read-only transactions, by pool").register(registry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (usePrimary()) return primary.getConnection();
+    return super.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    if (usePrimary()) return primary.getConnection(username, password);
+    return super.getConnection(username, password);
+  }
+
+  private boolean usePrimary() {
+    boolean usePrimary = ReadRouting.primaryRequired() || !lag.withinLimit();
+    (usePrimary ? primaryReads : replicaReads).increment();
+    return usePrimary;
+  }
+}
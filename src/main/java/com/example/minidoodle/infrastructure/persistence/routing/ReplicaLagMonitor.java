@@ -0,0 +1,76 @@
+package com.example.minidoodle.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag. While it exceeds {@code maxLag}, or the replica cannot be
+ * reached, read-only transactions are served by the primary. A replica that has replayed
+ * everything it received counts as zero lag, so an idle primary does not look like lag.
+ */
+final class ReplicaLagMonitor implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private static final String LAG_SQL = """
+      select case
+               when not pg_is_in_recovery() then 0
+               when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+               else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+             end
+      """;
+
+  private final JdbcTemplate jdbc;
+  private final double maxLagSeconds;
+  private final ScheduledExecutorService scheduler;
+  private volatile double lagSeconds;
+
+  ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration interval, MeterRegistry registry) {
+    this.jdbc = new JdbcTemplate(replica);
+    this.jdbc.setQueryTimeout(5);
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    Gauge.builder("minidoodle.datasource.replica.lag", this, m -> m.lagSeconds)
+        .description("Replica replay lag in seconds (infinite while unreachable)")
+        .baseUnit("seconds")
+        .register(registry);
+
+    if (maxLag.isZero()) {
+      this.scheduler = null;
+      return;
+    }
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "replica-lag-monitor");
+      t.setDaemon(true);
+      return t;
+    });
+    scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  boolean withinLimit() {
+    return scheduler == null || lagSeconds <= maxLagSeconds;
+  }
+
+  private void check() {
+    try {
+      Double lag = jdbc.queryForObject(LAG_SQL, Double.class);
+      lagSeconds = lag == null ? 0 : lag;
+    } catch (RuntimeException e) {
+      if (lagSeconds != Double.POSITIVE_INFINITY) log.warn("replica lag check failed, reading from primary: {}", e.getMessage());
+      lagSeconds = Double.POSITIVE_INFINITY;
+    }
+  }
+
+  @Override
+  public void close() {
+    if (scheduler != null) scheduler.shutdownNow();
+  }
+}
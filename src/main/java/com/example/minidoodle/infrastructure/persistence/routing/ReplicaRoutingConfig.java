@@ -0,0 +1,68 @@
+package com.example.minidoodle.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Optional read replica, enabled by {@code minidoodle.datasource.replica.url}. The application
+ * datasource becomes a lazy proxy over the primary pool that hands read-only transactions a
+ * replica connection instead (see {@link ReplicaDataSource}). Both pools are Hikari beans, so
+ * pool metrics are tagged {@code pool="primary"} and {@code pool="replica"}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "minidoodle.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName("primary");
+    return ds;
+  }
+
+  @Bean
+  @ConfigurationProperties("minidoodle.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                            @Value("${minidoodle.datasource.replica.url}") String url,
+                                            @Value("${minidoodle.datasource.replica.username:}") String username,
+                                            @Value("${minidoodle.datasource.replica.password:}") String password) {
+    HikariDataSource ds = new HikariDataSource();
+    ds.setPoolName("replica");
+    ds.setJdbcUrl(url);
+    ds.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+    ds.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+    ds.setReadOnly(true);
+    return ds;
+  }
+
+  @Bean(destroyMethod = "close")
+  ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource,
+                                      @Value("${minidoodle.datasource.replica.max-lag:10s}") Duration maxLag,
+                                      @Value("${minidoodle.datasource.replica.lag-check-interval:5s}") Duration interval,
+                                      MeterRegistry registry) {
+    return new ReplicaLagMonitor(replicaDataSource, maxLag, interval, registry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                               ReplicaLagMonitor lag, MeterRegistry registry) {
+    var routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+    routing.setReadOnlyDataSource(new ReplicaDataSource(replicaDataSource, primaryDataSource, lag, registry));
+    return routing;
+  }
+}
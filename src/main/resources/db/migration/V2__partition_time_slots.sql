@@ -0,0 +1,134 @@
+-- Declarative partitioning of time_slots by start_ts month (UTC).
+--
+-- Postgres cannot enforce an exclusion constraint across partitions, so the per-user
+-- no-overlap guarantee is split in two:
+--   * every partition carries the original exclusion constraint (<partition>_no_overlap),
+--     which covers overlaps between slots starting in the same month and keeps
+--     INSERT ... ON CONFLICT DO NOTHING working;
+--   * a row trigger checks the neighbouring partitions, under a per-user advisory lock,
+--     for slots that cross a month boundary. It raises exclusion_violation (23P01) like
+--     the constraint, or skips the row when minidoodle.on_overlap = 'skip' (set locally
+--     by the batch insert that relies on ON CONFLICT DO NOTHING).
+--
+-- Slots are limited to 31 days, so a slot overlapping [from, to) starts after from - 31 days.
+-- Range queries add that bound, which lets the planner prune to the touched months.
+--
+-- Partitions are named time_slots_YYYY_MM. Rows outside every monthly partition land in
+-- time_slots_default until time_slots_ensure_partitions() creates their month and moves them.
+
+ALTER TABLE time_slots RENAME TO time_slots_unpartitioned;
+ALTER TABLE time_slots_unpartitioned RENAME CONSTRAINT time_slots_no_overlap TO time_slots_unpartitioned_no_overlap;
+ALTER TABLE time_slots_unpartitioned RENAME CONSTRAINT time_slots_pkey TO time_slots_unpartitioned_pkey;
+ALTER INDEX idx_time_slots_user_start RENAME TO idx_time_slots_unpartitioned_user_start;
+ALTER INDEX idx_time_slots_user_status_start RENAME TO idx_time_slots_unpartitioned_user_status_start;
+ALTER INDEX idx_time_slots_meeting RENAME TO idx_time_slots_unpartitioned_meeting;
+
+CREATE TABLE time_slots (
+  id UUID NOT NULL,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  start_ts TIMESTAMPTZ NOT NULL,
+  end_ts TIMESTAMPTZ NOT NULL,
+  status slot_status NOT NULL,
+  meeting_id UUID NULL REFERENCES meetings(id) ON DELETE SET NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  version BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (id, start_ts),
+  CONSTRAINT time_slots_end_after_start CHECK (end_ts > start_ts),
+  CONSTRAINT time_slots_max_duration CHECK (end_ts - start_ts <= interval '31 days')
+) PARTITION BY RANGE (start_ts);
+
+CREATE TABLE time_slots_default PARTITION OF time_slots DEFAULT;
+ALTER TABLE time_slots_default
+  ADD CONSTRAINT time_slots_default_no_overlap
+  EXCLUDE USING gist (user_id WITH =, tstzrange(start_ts, end_ts, '[)') WITH &&);
+
+-- Creates the monthly partitions covering [from_ts, to_ts) that do not exist yet, moving any
+-- of their rows out of the default partition. Returns the number of partitions created.
+CREATE FUNCTION time_slots_ensure_partitions(from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ) RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+  month_start TIMESTAMPTZ := date_trunc('month', from_ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+  month_end TIMESTAMPTZ;
+  part TEXT;
+  created integer := 0;
+BEGIN
+  -- concurrent callers (several app instances) would otherwise race on the same month
+  PERFORM pg_advisory_xact_lock(hashtext('time_slots_ensure_partitions'));
+  WHILE month_start < to_ts LOOP
+    month_end := ((month_start AT TIME ZONE 'UTC') + interval '1 month') AT TIME ZONE 'UTC';
+    part := 'time_slots_' || to_char(month_start AT TIME ZONE 'UTC', 'YYYY_MM');
+    IF to_regclass(part) IS NULL THEN
+      EXECUTE format('CREATE TABLE %I (LIKE time_slots INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part);
+      EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '
+                     '(user_id WITH =, tstzrange(start_ts, end_ts, ''[)'') WITH &&)', part, part || '_no_overlap');
+      EXECUTE format('WITH moved AS (DELETE FROM time_slots_default WHERE start_ts >= %L AND start_ts < %L RETURNING *) '
+                     'INSERT INTO %I SELECT * FROM moved', month_start, month_end, part);
+      EXECUTE format('ALTER TABLE time_slots ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                     part, month_start, month_end);
+      created := created + 1;
+    END IF;
+    month_start := month_end;
+  END LOOP;
+  RETURN created;
+END;
+$$;
+
+-- Partitions for the existing rows and the next year; the application keeps creating them ahead.
+SELECT time_slots_ensure_partitions(
+  least(coalesce((SELECT min(start_ts) FROM time_slots_unpartitioned), now()), now()),
+  greatest(coalesce((SELECT max(start_ts) FROM time_slots_unpartitioned), now()), now() + interval '12 months'));
+
+INSERT INTO time_slots (id, user_id, start_ts, end_ts, status, meeting_id, created_at, updated_at, version)
+SELECT id, user_id, start_ts, end_ts, status, meeting_id, created_at, updated_at, version
+FROM time_slots_unpartitioned;
+
+DROP TABLE time_slots_unpartitioned;
+
+-- Created on the parent, so every current and future partition gets them
+CREATE INDEX idx_time_slots_user_start ON time_slots (user_id, start_ts);
+CREATE INDEX idx_time_slots_user_status_start ON time_slots (user_id, status, start_ts);
+CREATE INDEX idx_time_slots_meeting ON time_slots (meeting_id);
+
+CREATE FUNCTION time_slots_no_cross_partition_overlap() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+  month_start TIMESTAMPTZ := date_trunc('month', NEW.start_ts AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+  month_end TIMESTAMPTZ := ((month_start AT TIME ZONE 'UTC') + interval '1 month') AT TIME ZONE 'UTC';
+  other UUID;
+BEGIN
+  -- Serializes a user's range changes, so two concurrent writers see each other's rows below
+  PERFORM pg_advisory_xact_lock(hashtextextended(NEW.user_id::text, 0));
+  SELECT id INTO other
+  FROM time_slots
+  WHERE user_id = NEW.user_id
+    AND id <> NEW.id
+    AND start_ts > NEW.start_ts - interval '31 days'
+    AND start_ts < NEW.end_ts
+    AND end_ts > NEW.start_ts
+    AND (start_ts < month_start OR start_ts >= month_end)
+  LIMIT 1;
+  IF other IS NULL THEN
+    RETURN NEW;
+  END IF;
+  IF current_setting('minidoodle.on_overlap', true) = 'skip' THEN
+    RETURN NULL;
+  END IF;
+  RAISE EXCLUSION_VIOLATION USING
+    MESSAGE = 'conflicting key value violates exclusion constraint "time_slots_no_overlap"',
+    DETAIL = format('Slot %s overlaps slot %s of user %s.', NEW.id, other, NEW.user_id),
+    TABLE = 'time_slots';
+END;
+$$;
+
+CREATE TRIGGER time_slots_no_overlap_insert
+  BEFORE INSERT ON time_slots
+  FOR EACH ROW EXECUTE FUNCTION time_slots_no_cross_partition_overlap();
+
+CREATE TRIGGER time_slots_no_overlap_update
+  BEFORE UPDATE OF user_id, start_ts, end_ts ON time_slots
+  FOR EACH ROW
+  WHEN (OLD.user_id IS DISTINCT FROM NEW.user_id
+        OR OLD.start_ts IS DISTINCT FROM NEW.start_ts
+        OR OLD.end_ts IS DISTINCT FROM NEW.end_ts)
+  EXECUTE FUNCTION time_slots_no_cross_partition_overlap();
@@ -0,0 +1,101 @@
+-- Materialized free time per user: the union of AVAILABLE slots minus the union of BUSY slots,
+-- stored as disjoint, non-touching intervals. Kept up to date by the application in the writing
+-- transaction (user_free_intervals_refresh for each changed window), so availability reads can
+-- fetch free time instead of recomputing it from slots.
+--
+-- Recovery:
+--   SELECT * FROM user_free_intervals_verify();   -- users whose stored free time is wrong
+--   CALL user_free_intervals_rebuild();            -- recompute every user (one commit per user)
+--   CALL user_free_intervals_rebuild('<user id>'); -- recompute one user
+
+CREATE TABLE user_free_intervals (
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  start_ts TIMESTAMPTZ NOT NULL,
+  end_ts TIMESTAMPTZ NOT NULL,
+  PRIMARY KEY (user_id, start_ts),
+  CHECK (end_ts > start_ts),
+  -- closed ranges: touching intervals must have been merged
+  CONSTRAINT user_free_intervals_coalesced
+    EXCLUDE USING gist (user_id WITH =, tstzrange(start_ts, end_ts, '[]') WITH &&)
+);
+
+-- Free time of one user within [from_ts, to_ts), computed from time_slots
+CREATE FUNCTION user_free_intervals_computed(u UUID, from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ) RETURNS tstzmultirange
+LANGUAGE sql STABLE AS $$
+  SELECT (coalesce(range_agg(tstzrange(start_ts, end_ts, '[)')) FILTER (WHERE status = 'AVAILABLE'), '{}')
+        - coalesce(range_agg(tstzrange(start_ts, end_ts, '[)')) FILTER (WHERE status = 'BUSY'), '{}'))
+        * tstzmultirange(tstzrange(from_ts, to_ts, '[)'))
+  FROM time_slots
+  WHERE user_id = u
+    AND tstzrange(start_ts, end_ts, '[)') && tstzrange(from_ts, to_ts, '[)')
+    AND start_ts > from_ts - interval '31 days'
+    AND start_ts < to_ts
+$$;
+
+-- Recomputes the stored free time of one user after its slots changed within [from_ts, to_ts).
+CREATE FUNCTION user_free_intervals_refresh(u UUID, from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+  w_from TIMESTAMPTZ := from_ts;
+  w_to TIMESTAMPTZ := to_ts;
+  s TIMESTAMPTZ;
+  e TIMESTAMPTZ;
+BEGIN
+  -- Held until commit: a concurrent refresh of the same user waits, then sees this
+  -- transaction's slots and intervals.
+  PERFORM pg_advisory_xact_lock(hashtextextended('user_free_intervals:' || u, 0));
+
+  -- Stored intervals overlapping or touching the window are recomputed whole
+  SELECT start_ts, end_ts INTO s, e FROM user_free_intervals
+  WHERE user_id = u AND start_ts <= from_ts ORDER BY start_ts DESC LIMIT 1;
+  IF FOUND AND e >= from_ts THEN w_from := s; END IF;
+  SELECT start_ts, end_ts INTO s, e FROM user_free_intervals
+  WHERE user_id = u AND start_ts <= to_ts ORDER BY start_ts DESC LIMIT 1;
+  IF FOUND AND e > to_ts THEN w_to := e; END IF;
+
+  DELETE FROM user_free_intervals WHERE user_id = u AND start_ts >= w_from AND start_ts < w_to;
+  INSERT INTO user_free_intervals (user_id, start_ts, end_ts)
+  SELECT u, lower(r), upper(r) FROM unnest(user_free_intervals_computed(u, w_from, w_to)) r;
+END;
+$$;
+
+-- Users whose stored free time differs from the one computed from their slots
+CREATE FUNCTION user_free_intervals_verify()
+RETURNS TABLE (user_id UUID, stored tstzmultirange, computed tstzmultirange)
+LANGUAGE sql STABLE AS $$
+  WITH stored AS (
+    SELECT f.user_id, range_agg(tstzrange(f.start_ts, f.end_ts, '[)')) AS r
+    FROM user_free_intervals f GROUP BY f.user_id
+  ), computed AS (
+    SELECT s.user_id,
+           coalesce(range_agg(tstzrange(s.start_ts, s.end_ts, '[)')) FILTER (WHERE s.status = 'AVAILABLE'), '{}')
+         - coalesce(range_agg(tstzrange(s.start_ts, s.end_ts, '[)')) FILTER (WHERE s.status = 'BUSY'), '{}') AS r
+    FROM time_slots s GROUP BY s.user_id
+  )
+  SELECT coalesce(stored.user_id, computed.user_id), stored.r, computed.r
+  FROM stored FULL JOIN computed ON stored.user_id = computed.user_id
+  WHERE coalesce(stored.r, '{}') <> coalesce(computed.r, '{}')
+$$;
+
+-- Recomputes every user (or only u), committing after each one to keep locks short
+CREATE PROCEDURE user_free_intervals_rebuild(u UUID DEFAULT NULL)
+LANGUAGE plpgsql AS $$
+DECLARE
+  uid UUID;
+BEGIN
+  FOR uid IN SELECT users.id FROM users WHERE u IS NULL OR users.id = u ORDER BY users.id LOOP
+    PERFORM user_free_intervals_refresh(uid, '-infinity', 'infinity');
+    COMMIT;
+  END LOOP;
+END;
+$$;
+
+INSERT INTO user_free_intervals (user_id, start_ts, end_ts)
+SELECT user_id, lower(r), upper(r)
+FROM (
+  SELECT user_id,
+         unnest(coalesce(range_agg(tstzrange(start_ts, end_ts, '[)')) FILTER (WHERE status = 'AVAILABLE'), '{}')
+              - coalesce(range_agg(tstzrange(start_ts, end_ts, '[)')) FILTER (WHERE status = 'BUSY'), '{}')) AS r
+  FROM time_slots
+  GROUP BY user_id
+) free;
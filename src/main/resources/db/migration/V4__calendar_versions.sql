@@ -0,0 +1,35 @@
+-- Per-user calendar version, bumped in the same transaction as every change to the user's slots
+-- (right before commit, together with the user_free_intervals refresh). Conditional GETs derive
+-- their ETags from it. Users without a row are at version 0.
+
+CREATE TABLE calendar_versions (
+  user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+  version BIGINT NOT NULL
+);
+
+-- Records a change to the slots of one user within [from_ts, to_ts); returns the new version.
+CREATE FUNCTION calendar_changed(u UUID, from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ) RETURNS bigint
+LANGUAGE plpgsql AS $$
+DECLARE
+  v BIGINT;
+BEGIN
+  PERFORM user_free_intervals_refresh(u, from_ts, to_ts);
+  INSERT INTO calendar_versions AS cv (user_id, version) VALUES (u, 1)
+  ON CONFLICT (user_id) DO UPDATE SET version = cv.version + 1
+  RETURNING cv.version INTO v;
+  RETURN v;
+END;
+$$;
+
+-- A rebuild may change what users see, so it bumps their versions too
+CREATE OR REPLACE PROCEDURE user_free_intervals_rebuild(u UUID DEFAULT NULL)
+LANGUAGE plpgsql AS $$
+DECLARE
+  uid UUID;
+BEGIN
+  FOR uid IN SELECT users.id FROM users WHERE u IS NULL OR users.id = u ORDER BY users.id LOOP
+    PERFORM calendar_changed(uid, '-infinity', 'infinity');
+    COMMIT;
+  END LOOP;
+END;
+$$;
@@ -0,0 +1,55 @@
+package com.example.minidoodle.perf;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Per-thread latency and outcome log; recorders are merged once the run is over. */
+final class LatencyRecorder {
+
+  private final Map<String, Samples> byOp = new TreeMap<>();
+
+  void record(String op, long nanos, String outcome) {
+    byOp.computeIfAbsent(op, k -> new Samples()).add(nanos, outcome);
+  }
+
+  void mergeInto(LatencyRecorder total) {
+    byOp.forEach((op, s) -> total.byOp.computeIfAbsent(op, k -> new Samples()).addAll(s));
+  }
+
+  Map<String, Samples> byOp() {
+    return byOp;
+  }
+
+  static final class Samples {
+    private long[] nanos = new long[1024];
+    private int size;
+    final Map<String, Integer> outcomes = new TreeMap<>();
+
+    void add(long value, String outcome) {
+      if (size == nanos.length) nanos = Arrays.copyOf(nanos, 2 * size);
+      nanos[size++] = value;
+      outcomes.merge(outcome, 1, Integer::sum);
+    }
+
+    void addAll(Samples other) {
+      for (int i = 0; i < other.size; i++) {
+        if (size == nanos.length) nanos = Arrays.copyOf(nanos, 2 * size);
+        nanos[size++] = other.nanos[i];
+      }
+      other.outcomes.forEach((k, v) -> outcomes.merge(k, v, Integer::sum));
+    }
+
+    int count() {
+      return size;
+    }
+
+    /** Nearest-rank percentile in milliseconds; sorts the samples on first use. */
+    double percentileMillis(double p) {
+      if (size == 0) return 0;
+      Arrays.sort(nanos, 0, size);
+      int rank = (int) Math.ceil(p / 100.0 * size);
+      return nanos[Math.max(0, Math.min(size, rank) - 1)] / 1_000_000.0;
+    }
+  }
+}
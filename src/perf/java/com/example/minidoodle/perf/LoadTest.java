@@ -0,0 +1,128 @@
+package com.example.minidoodle.perf;
+
+import com.example.minidoodle.MiniDoodleApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end load test: seeds a synthetic population, drives a mixed availability/booking
+ * workload from {@code perf.threads} threads and reports throughput, latency percentiles and
+ * booking-conflict rates. Targets a running app at {@code perf.baseUrl}, or with
+ * {@code perf.embedded=true} starts the app in-process on a Testcontainers Postgres.
+ *
+ * <pre>mvn -Pperf test -Dperf.users=2000 -Dperf.threads=32 -Dperf.durationSeconds=120</pre>
+ */
+public final class LoadTest {
+
+  public static void main(String[] args) throws Exception {
+    var config = PerfConfig.fromSystemProperties();
+    ConfigurableApplicationContext app = null;
+    String baseUrl = config.baseUrl();
+    if (config.embedded()) {
+      app = new SpringApplicationBuilder(MiniDoodleApplication.class)
+          .properties(
+              "server.port=0",
+              "spring.datasource.url=jdbc:tc:postgresql:16-alpine:///minidoodle",
+              "spring.datasource.username=minidoodle",
+              "spring.datasource.password=minidoodle")
+          .run();
+      baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(config.threads());
+    try {
+      run(config, new PerfClient(baseUrl), pool);
+    } finally {
+      pool.shutdownNow();
+      if (app != null) app.close();
+    }
+  }
+
+  private static void run(PerfConfig config, PerfClient client, ExecutorService pool) throws Exception {
+    log("seeding %d users x %d days x %d slots/day against %s", config.users(), config.days(), config.slotsPerDay(),
+        config.embedded() ? "embedded app" : config.baseUrl());
+    var seeder = new Seeder(config, client, pool);
+    long t0 = System.nanoTime();
+    List<UUID> users = seeder.users();
+    List<Seeder.Slot> slots = seeder.slots(users);
+    List<Seeder.Slot> bookable = seeder.meetings(users, slots);
+    log("seeded %d slots (%d left AVAILABLE) in %.1fs", slots.size(), bookable.size(), (System.nanoTime() - t0) / 1e9);
+
+    var workload = new Workload(config, client, users, bookable);
+    if (!config.warmup().isZero()) {
+      log("warming up for %ds", config.warmup().toSeconds());
+      drive(pool, config.threads(), workload, config.warmup().toNanos(), false);
+    }
+    log("measuring for %ds with %d threads, read ratio %.2f", config.duration().toSeconds(), config.threads(), config.readRatio());
+    long start = System.nanoTime();
+    LatencyRecorder total = drive(pool, config.threads(), workload, config.duration().toNanos(), true);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    report(total, seconds, config);
+  }
+
+  private static LatencyRecorder drive(ExecutorService pool, int threads, Workload workload, long nanos, boolean record)
+      throws Exception {
+    long until = System.nanoTime() + nanos;
+    List<Future<LatencyRecorder>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(pool.submit(() -> {
+        var recorder = record ? new LatencyRecorder() : null;
+        workload.run(until, recorder);
+        return recorder;
+      }));
+    }
+    var total = new LatencyRecorder();
+    for (var f : futures) {
+      var r = f.get();
+      if (r != null) r.mergeInto(total);
+    }
+    return total;
+  }
+
+  private static void report(LatencyRecorder total, double seconds, PerfConfig config) throws Exception {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("config", config);
+    json.put("seconds", seconds);
+    Map<String, Object> ops = new LinkedHashMap<>();
+
+    System.out.printf("%n%-20s %8s %10s %9s %9s %9s %9s%n", "operation", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    total.byOp().forEach((op, s) -> {
+      double p50 = s.percentileMillis(50), p95 = s.percentileMillis(95), p99 = s.percentileMillis(99), max = s.percentileMillis(100);
+      System.out.printf("%-20s %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", op, s.count(), s.count() / seconds, p50, p95, p99, max);
+      ops.put(op, Map.of("count", s.count(), "throughput", s.count() / seconds,
+          "p50Ms", p50, "p95Ms", p95, "p99Ms", p99, "maxMs", max, "outcomes", s.outcomes));
+    });
+    json.put("operations", ops);
+
+    System.out.println();
+    total.byOp().forEach((op, s) -> s.outcomes.forEach((outcome, n) ->
+        System.out.printf("%-20s %-60s %8d %6.1f%%%n", op, outcome, n, 100.0 * n / s.count())));
+
+    var bookings = total.byOp().get(Workload.BOOKING);
+    if (bookings != null) {
+      int conflicts = bookings.outcomes.entrySet().stream()
+          .filter(e -> e.getKey().startsWith("conflict")).mapToInt(Map.Entry::getValue).sum();
+      System.out.printf("%nbooking conflict rate: %.1f%% (%d of %d)%n", 100.0 * conflicts / bookings.count(), conflicts, bookings.count());
+      json.put("bookingConflictRate", (double) conflicts / bookings.count());
+    }
+
+    var file = new File(System.getProperty("perf.report", "target/perf-report.json"));
+    new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .writerWithDefaultPrettyPrinter().writeValue(file, json);
+    log("report written to %s", file);
+  }
+
+  private static void log(String format, Object... args) {
+    System.out.printf("[perf] " + format + "%n", args);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.minidoodle.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Thin JSON client over {@link HttpClient}. Non-2xx responses are returned, not thrown. */
+final class PerfClient {
+
+  record Response(int status, JsonNode json) {
+    boolean ok() {
+      return status / 100 == 2;
+    }
+
+    String message() {
+      return json != null && json.hasNonNull("message") ? json.get("message").asText() : "";
+    }
+  }
+
+  private final String baseUrl;
+  private final ObjectMapper json = new ObjectMapper();
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  PerfClient(String baseUrl) {
+    this.baseUrl = baseUrl + "/api/v1";
+  }
+
+  Response get(String path) throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+  }
+
+  Response post(String path, Object body) throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body))));
+  }
+
+  private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+    var res = http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofByteArray());
+    byte[] body = res.body();
+    return new Response(res.statusCode(), body.length == 0 ? null : json.readTree(body));
+  }
+}
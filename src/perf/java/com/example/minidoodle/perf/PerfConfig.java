@@ -0,0 +1,59 @@
+package com.example.minidoodle.perf;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/** Load test settings, read from {@code -Dperf.*} system properties. */
+record PerfConfig(
+    String baseUrl,
+    boolean embedded,
+    int users,
+    int days,
+    int slotsPerDay,
+    double seedMeetingRatio,
+    int maxParticipants,
+    int threads,
+    Duration warmup,
+    Duration duration,
+    double readRatio,
+    int groupSize,
+    int availabilityDays,
+    Instant start,
+    long seed
+) {
+
+  static PerfConfig fromSystemProperties() {
+    return new PerfConfig(
+        str("baseUrl", "http://localhost:8080"),
+        Boolean.parseBoolean(str("embedded", "false")),
+        integer("users", 500),
+        integer("days", 10),
+        integer("slotsPerDay", 8),
+        dbl("seedMeetingRatio", 0.2),
+        integer("maxParticipants", 3),
+        integer("threads", 16),
+        Duration.ofSeconds(integer("warmupSeconds", 10)),
+        Duration.ofSeconds(integer("durationSeconds", 60)),
+        dbl("readRatio", 0.9),
+        integer("groupSize", 5),
+        integer("availabilityDays", 1),
+        LocalDate.parse(str("startDate", LocalDate.now(ZoneOffset.UTC).plusDays(1).toString()))
+            .atStartOfDay(ZoneOffset.UTC).toInstant(),
+        Long.parseLong(str("seed", "42"))
+    );
+  }
+
+  private static String str(String key, String def) {
+    return System.getProperty("perf." + key, def);
+  }
+
+  private static int integer(String key, int def) {
+    return Integer.parseInt(str(key, String.valueOf(def)));
+  }
+
+  private static double dbl(String key, double def) {
+    return Double.parseDouble(str(key, String.valueOf(def)));
+  }
+}
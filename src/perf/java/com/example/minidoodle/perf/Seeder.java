@@ -0,0 +1,108 @@
+package com.example.minidoodle.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the synthetic population through the public API: users, then AVAILABLE slots on a
+ * half-hour grid during working hours (shifted by 15 minutes for every other user so groups only
+ * partly line up), then meetings for a share of the slots.
+ */
+final class Seeder {
+
+  private static final int BULK_CHUNK = 2000;
+  private static final int FIRST_HOUR = 8;
+  private static final int CELLS_PER_DAY = 20; // 08:00 - 18:00
+
+  record Slot(UUID userId, UUID slotId, Instant start) {}
+
+  private final PerfConfig config;
+  private final PerfClient client;
+  private final ExecutorService pool;
+  private final Random rnd;
+
+  Seeder(PerfConfig config, PerfClient client, ExecutorService pool) {
+    this.config = config;
+    this.client = client;
+    this.pool = pool;
+    this.rnd = new Random(config.seed());
+  }
+
+  List<UUID> users() throws Exception {
+    String run = Long.toString(System.currentTimeMillis(), 36);
+    List<Future<UUID>> futures = new ArrayList<>();
+    for (int i = 0; i < config.users(); i++) {
+      int n = i;
+      futures.add(pool.submit(() -> {
+        var res = client.post("/users", Map.of("email", "perf-" + run + "-" + n + "@load.test", "name", "Perf " + n));
+        return UUID.fromString(res.json().get("id").asText());
+      }));
+    }
+    List<UUID> out = new ArrayList<>(futures.size());
+    for (var f : futures) out.add(f.get());
+    return out;
+  }
+
+  List<Slot> slots(List<UUID> users) throws Exception {
+    List<Map<String, Object>> items = new ArrayList<>();
+    List<Slot> planned = new ArrayList<>();
+    for (int u = 0; u < users.size(); u++) {
+      UUID userId = users.get(u);
+      Duration shift = Duration.ofMinutes(u % 2 == 0 ? 0 : 15);
+      for (int d = 0; d < config.days(); d++) {
+        Instant day = config.start().plus(Duration.ofDays(d)).plus(Duration.ofHours(FIRST_HOUR)).plus(shift);
+        for (int cell : pickCells(Math.min(config.slotsPerDay(), CELLS_PER_DAY))) {
+          Instant start = day.plus(Duration.ofMinutes(30L * cell));
+          items.add(Map.of("userId", userId, "start", start.toString(), "durationMinutes", 30, "status", "AVAILABLE"));
+          planned.add(new Slot(userId, null, start));
+        }
+      }
+    }
+
+    List<Future<JsonNode>> futures = new ArrayList<>();
+    for (int from = 0; from < items.size(); from += BULK_CHUNK) {
+      var chunk = items.subList(from, Math.min(items.size(), from + BULK_CHUNK));
+      futures.add(pool.submit(() -> client.post("/slots/bulk", Map.of("slots", chunk)).json()));
+    }
+    List<Slot> created = new ArrayList<>(planned.size());
+    for (int c = 0; c < futures.size(); c++) {
+      for (JsonNode r : futures.get(c).get().get("results")) {
+        if (!"CREATED".equals(r.get("outcome").asText())) continue;
+        Slot p = planned.get(c * BULK_CHUNK + r.get("index").asInt());
+        created.add(new Slot(p.userId(), UUID.fromString(r.get("slotId").asText()), p.start()));
+      }
+    }
+    return created;
+  }
+
+  /** Books {@code seedMeetingRatio} of the slots; returns the slots left AVAILABLE. */
+  List<Slot> meetings(List<UUID> users, List<Slot> slots) throws Exception {
+    List<Slot> shuffled = new ArrayList<>(slots);
+    Collections.shuffle(shuffled, rnd);
+    int toBook = (int) (shuffled.size() * config.seedMeetingRatio());
+
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (Slot slot : shuffled.subList(0, toBook)) {
+      var body = Workload.meetingRequest(slot, participants(users, slot.userId()), "seeded");
+      futures.add(pool.submit(() -> client.post("/meetings", body).status()));
+    }
+    for (var f : futures) f.get();
+    return new ArrayList<>(shuffled.subList(toBook, shuffled.size()));
+  }
+
+  List<UUID> participants(List<UUID> users, UUID organizer) {
+    return Workload.randomParticipants(rnd, users, organizer, config.maxParticipants());
+  }
+
+  private int[] pickCells(int n) {
+    List<Integer> cells = new ArrayList<>(CELLS_PER_DAY);
+    for (int i = 0; i < CELLS_PER_DAY; i++) cells.add(i);
+    Collections.shuffle(cells, rnd);
+    return cells.subList(0, n).stream().mapToInt(Integer::intValue).sorted().toArray();
+  }
+}
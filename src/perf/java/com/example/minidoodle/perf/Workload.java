@@ -0,0 +1,97 @@
+package com.example.minidoodle.perf;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mixed traffic: {@code readRatio} of the requests are availability queries for a random group
+ * over a random day, the rest book a random AVAILABLE slot with random participants.
+ */
+final class Workload {
+
+  static final String AVAILABILITY = "GET /availability";
+  static final String BOOKING = "POST /meetings";
+
+  private final PerfConfig config;
+  private final PerfClient client;
+  private final List<UUID> users;
+  private final Queue<Seeder.Slot> bookable;
+
+  Workload(PerfConfig config, PerfClient client, List<UUID> users, List<Seeder.Slot> bookable) {
+    this.config = config;
+    this.client = client;
+    this.users = users;
+    List<Seeder.Slot> shuffled = new ArrayList<>(bookable);
+    Collections.shuffle(shuffled, new Random(config.seed()));
+    this.bookable = new ConcurrentLinkedQueue<>(shuffled);
+  }
+
+  /** Issues requests until {@code until} (System.nanoTime), recording into {@code recorder} if given. */
+  void run(long until, LatencyRecorder recorder) {
+    var rnd = ThreadLocalRandom.current();
+    while (System.nanoTime() < until) {
+      Seeder.Slot slot = rnd.nextDouble() < config.readRatio() ? null : bookable.poll();
+      String op = slot == null ? AVAILABILITY : BOOKING;
+      long t0 = System.nanoTime();
+      String outcome;
+      try {
+        var res = slot == null ? availability(rnd) : book(rnd, slot);
+        outcome = outcome(res);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        outcome = "error: " + e.getClass().getSimpleName();
+      }
+      if (recorder != null) recorder.record(op, System.nanoTime() - t0, outcome);
+    }
+  }
+
+  private PerfClient.Response availability(Random rnd) throws Exception {
+    var query = new StringBuilder("/availability?");
+    for (int i = 0; i < config.groupSize(); i++) {
+      query.append("userIds=").append(users.get(rnd.nextInt(users.size()))).append('&');
+    }
+    Instant from = config.start().plus(Duration.ofDays(rnd.nextInt(Math.max(1, config.days()))));
+    query.append("from=").append(from).append("&to=").append(from.plus(Duration.ofDays(config.availabilityDays())));
+    return client.get(query.toString());
+  }
+
+  private PerfClient.Response book(Random rnd, Seeder.Slot slot) throws Exception {
+    var participants = randomParticipants(rnd, users, slot.userId(), config.maxParticipants());
+    return client.post("/meetings", meetingRequest(slot, participants, "load test"));
+  }
+
+  // 409 messages name the reason; lists of ids are cut off so outcomes can be grouped.
+  private static String outcome(PerfClient.Response res) {
+    if (res.ok()) return "ok";
+    if (res.status() == 409) {
+      String message = res.message();
+      int ids = message.indexOf(": [");
+      return "conflict: " + (ids < 0 ? message : message.substring(0, ids));
+    }
+    return "http " + res.status();
+  }
+
+  static Map<String, Object> meetingRequest(Seeder.Slot slot, List<UUID> participants, String title) {
+    return Map.of(
+        "organizerId", slot.userId(),
+        "slotId", slot.slotId(),
+        "title", title,
+        "participantIds", participants
+    );
+  }
+
+  static List<UUID> randomParticipants(Random rnd, List<UUID> users, UUID organizer, int max) {
+    int n = max <= 0 ? 0 : rnd.nextInt(max + 1);
+    Set<UUID> out = new LinkedHashSet<>();
+    for (int i = 0; i < n && users.size() > 1; i++) {
+      UUID u = users.get(rnd.nextInt(users.size()));
+      if (!u.equals(organizer)) out.add(u);
+    }
+    return List.copyOf(out);
+  }
+}
@@ -1,20 +1,37 @@
 package com.example.minidoodle;
 
+import com.example.minidoodle.application.AvailabilityService;
+import com.example.minidoodle.application.CalendarChangedEvent;
+import com.example.minidoodle.application.CalendarFeed;
 import com.example.minidoodle.application.MeetingService;
+import com.example.minidoodle.application.MeetingTimeFinder;
 import com.example.minidoodle.application.SlotService;
 import com.example.minidoodle.application.UserService;
 import com.example.minidoodle.application.Exceptions.BadRequest;
 import com.example.minidoodle.application.Exceptions.Conflict;
+import com.example.minidoodle.application.Exceptions.NotFound;
+import com.example.minidoodle.domain.Interval;
 import com.example.minidoodle.domain.SlotStatus;
+import com.example.minidoodle.infrastructure.persistence.jdbc.MeetingRow;
+import com.example.minidoodle.infrastructure.persistence.jdbc.SlotRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.*;
 
@@ -24,13 +41,19 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:tc:postgresql:16-alpine:///minidoodle",
     "spring.datasource.username=minidoodle",
-    "spring.datasource.password=minidoodle"
+    "spring.datasource.password=minidoodle",
+    "minidoodle.meetings.bulk-chunk-size=4"
 })
 class MeetingSchedulingIT {
 
   @Autowired private UserService users;
   @Autowired private SlotService slots;
   @Autowired private MeetingService meetings;
+  @Autowired private AvailabilityService availability;
+  @Autowired private CalendarFeed feed;
+  @Autowired private MeetingTimeFinder finder;
+  @Autowired private MeterRegistry registry;
+  @Autowired private JdbcTemplate jdbc;
 
   private static final Instant BASE = Instant.parse("2026-01-15T10:00:00Z");
 
@@ -66,6 +89,29 @@ class MeetingSchedulingIT {
     assertEquals(meeting.getId(), updatedSlot.getMeeting().getId());
   }
 
+  @Test
+  void readsMeetings_withOrganizerAndParticipantIds() {
+    var alice = users.create("alice14@test.com", "Alice");
+    var bob   = users.create("bob14@test.com", "Bob");
+    var carl  = users.create("carl14@test.com", "Carl");
+
+    var first = meetings.schedule(alice.getId(),
+        slots.create(alice.getId(), BASE, Duration.ofMinutes(30), SlotStatus.AVAILABLE).getId(),
+        "One", null, List.of(bob.getId(), carl.getId()));
+    var second = meetings.schedule(alice.getId(),
+        slots.create(alice.getId(), BASE.plus(Duration.ofHours(1)), Duration.ofMinutes(30), SlotStatus.AVAILABLE).getId(),
+        "Two", null, List.of());
+
+    var read = meetings.get(first.getId());
+    assertEquals(alice.getId(), read.organizerId());
+    assertEquals(Set.of(bob.getId(), carl.getId()), Set.copyOf(read.participantIds()));
+
+    var batch = meetings.getAll(List.of(second.getId(), UUID.randomUUID(), first.getId(), second.getId()));
+    assertEquals(List.of(second.getId(), first.getId()), batch.stream().map(MeetingRow::id).toList());
+    assertEquals(List.of(), batch.get(0).participantIds());
+    assertThrows(NotFound.class, () -> meetings.get(UUID.randomUUID()));
+  }
+
   // --------------------------------------------------
   // Authorization
   // --------------------------------------------------
@@ -170,6 +216,32 @@ class MeetingSchedulingIT {
     );
   }
 
+  @Test
+  void participantConflict_listsEveryConflictingParticipant() {
+    var alice = users.create("alice9@test.com", "Alice");
+    var bob   = users.create("bob9@test.com", "Bob");
+    var carl  = users.create("carl9@test.com", "Carl");
+    var dana  = users.create("dana9@test.com", "Dana");
+
+    slots.create(bob.getId(), BASE, Duration.ofMinutes(30), SlotStatus.BUSY);
+    slots.create(carl.getId(), BASE.plus(Duration.ofMinutes(15)), Duration.ofMinutes(30), SlotStatus.BUSY);
+    var slot = slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+
+    var ex = assertThrows(Conflict.class, () ->
+        meetings.schedule(
+            alice.getId(),
+            slot.getId(),
+            "Team",
+            "Everyone",
+            List.of(bob.getId(), carl.getId(), dana.getId())
+        )
+    );
+    assertTrue(ex.getMessage().contains(bob.getId().toString()));
+    assertTrue(ex.getMessage().contains(carl.getId().toString()));
+    assertFalse(ex.getMessage().contains(dana.getId().toString()));
+    assertEquals(SlotStatus.AVAILABLE, slots.get(slot.getId()).getStatus());
+  }
+
   // --------------------------------------------------
   // Organizer conflict
   // --------------------------------------------------
@@ -196,6 +268,312 @@ class MeetingSchedulingIT {
     );
   }
 
+  // --------------------------------------------------
+  // Bulk creation
+  // --------------------------------------------------
+
+  @Test
+  void bulkCreate_reportsConflictsPerItem_andKeepsTheRest() {
+    var alice = users.create("alice8@test.com", "Alice");
+
+    var results = slots.createAll(List.of(
+        new SlotService.NewSlot(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE),
+        new SlotService.NewSlot(alice.getId(), BASE.plus(Duration.ofMinutes(30)), Duration.ofMinutes(60), null),
+        new SlotService.NewSlot(UUID.randomUUID(), BASE, Duration.ofMinutes(60), null),
+        new SlotService.NewSlot(alice.getId(), BASE.plus(Duration.ofMinutes(60)), Duration.ofMinutes(30), SlotStatus.BUSY)
+    ));
+
+    assertEquals(SlotService.BulkOutcome.CREATED, results.get(0).outcome());
+    assertEquals(SlotService.BulkOutcome.CONFLICT, results.get(1).outcome());
+    assertEquals(SlotService.BulkOutcome.USER_NOT_FOUND, results.get(2).outcome());
+    assertEquals(SlotService.BulkOutcome.CREATED, results.get(3).outcome());
+
+    var stored = slots.list(alice.getId(), BASE, BASE.plus(Duration.ofHours(2)), null, null, null).slots();
+    assertEquals(2, stored.size());
+  }
+
+  @Test
+  void listSlots_pagesByCursor() {
+    var alice = users.create("alice13@test.com", "Alice");
+    for (int i = 0; i < 5; i++) {
+      slots.create(alice.getId(), BASE.plus(Duration.ofMinutes(30L * i)), Duration.ofMinutes(30), SlotStatus.AVAILABLE);
+    }
+    Instant to = BASE.plus(Duration.ofHours(3));
+
+    var first = slots.list(alice.getId(), BASE, to, null, null, 2);
+    var second = slots.list(alice.getId(), BASE, to, null, first.nextCursor(), 2);
+    var last = slots.list(alice.getId(), BASE, to, null, second.nextCursor(), 2);
+    assertEquals(List.of(BASE, BASE.plus(Duration.ofMinutes(30))), first.slots().stream().map(SlotRow::start).toList());
+    assertEquals(BASE.plus(Duration.ofMinutes(60)), second.slots().get(0).start());
+    assertEquals(1, last.slots().size());
+    assertNull(last.nextCursor());
+
+    assertThrows(BadRequest.class, () -> slots.list(alice.getId(), BASE, to, null, "not-a-cursor", 2));
+    assertThrows(BadRequest.class, () -> slots.list(alice.getId(), BASE, to, null, null, 0));
+  }
+
+  @Test
+  void bulkSchedule_reportsOutcomesPerMeeting_acrossChunks() {
+    var alice = users.create("alice15@test.com", "Alice");
+    var bob   = users.create("bob15@test.com", "Bob");
+    var carl  = users.create("carl15@test.com", "Carl");
+    var dana  = users.create("dana15@test.com", "Dana");
+
+    var s1 = slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE).getId();
+    var s2 = slots.create(alice.getId(), BASE.plus(Duration.ofHours(2)), Duration.ofMinutes(60), SlotStatus.AVAILABLE).getId();
+    var s3 = slots.create(alice.getId(), BASE.plus(Duration.ofHours(4)), Duration.ofMinutes(60), SlotStatus.AVAILABLE).getId();
+    var d1 = slots.create(dana.getId(), BASE.plus(Duration.ofHours(4)), Duration.ofMinutes(30), SlotStatus.AVAILABLE).getId();
+    slots.create(carl.getId(), BASE.plus(Duration.ofHours(2)), Duration.ofMinutes(30), SlotStatus.BUSY);
+
+    // chunks of 4: [0..3], [4..7], [8]
+    var results = meetings.scheduleAll(Arrays.asList(
+        new MeetingService.NewMeeting(alice.getId(), s1, "Booked", null, List.of(bob.getId())),
+        new MeetingService.NewMeeting(alice.getId(), s1, "Same slot", null, List.of()),
+        new MeetingService.NewMeeting(alice.getId(), s2, "Carl busy", null, List.of(carl.getId())),
+        new MeetingService.NewMeeting(bob.getId(), s3, "Not owner", null, List.of()),
+        new MeetingService.NewMeeting(alice.getId(), s3, "Later", null, List.of(bob.getId())),
+        new MeetingService.NewMeeting(dana.getId(), d1, "Bob again", null, List.of(bob.getId())),
+        new MeetingService.NewMeeting(alice.getId(), UUID.randomUUID(), "No slot", null, List.of()),
+        null,
+        new MeetingService.NewMeeting(alice.getId(), s2, "Ghost", null, List.of(UUID.randomUUID()))
+    ));
+
+    assertEquals(List.of(
+        MeetingService.BulkOutcome.SCHEDULED,
+        MeetingService.BulkOutcome.CONFLICT,
+        MeetingService.BulkOutcome.CONFLICT,
+        MeetingService.BulkOutcome.CONFLICT,
+        MeetingService.BulkOutcome.SCHEDULED,
+        MeetingService.BulkOutcome.CONFLICT,
+        MeetingService.BulkOutcome.NOT_FOUND,
+        MeetingService.BulkOutcome.INVALID,
+        MeetingService.BulkOutcome.INVALID
+    ), results.stream().map(MeetingService.BulkItemResult::outcome).toList());
+    assertTrue(results.get(2).message().contains(carl.getId().toString()));
+    // bob was booked by the meeting before it in the same chunk
+    assertTrue(results.get(5).message().contains(bob.getId().toString()));
+
+    var booked = meetings.get(results.get(0).meetingId());
+    assertEquals(List.of(bob.getId()), booked.participantIds());
+    assertEquals(SlotStatus.BUSY, slots.get(s1).getStatus());
+    assertEquals(SlotStatus.AVAILABLE, slots.get(s2).getStatus());
+    assertEquals(SlotStatus.BUSY, slots.get(s3).getStatus());
+    assertEquals(SlotStatus.AVAILABLE, slots.get(d1).getStatus());
+    assertEquals(2, slots.list(bob.getId(), BASE, BASE.plus(Duration.ofHours(6)), SlotStatus.BUSY, null, null).slots().size());
+    assertEquals(List.of(), jdbc.queryForList("select user_id from user_free_intervals_verify()"));
+  }
+
+  // --------------------------------------------------
+  // Partitions
+  // --------------------------------------------------
+
+  @Test
+  void crossPartitionOverlap_isRejected_onCreateAndUpdate() {
+    var alice = users.create("alice20@test.com", "Alice");
+    Instant boundary = monthStart(YearMonth.now(ZoneOffset.UTC).plusMonths(3));
+    var before = slots.create(alice.getId(), boundary.minus(Duration.ofMinutes(30)), Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    var after = slots.create(alice.getId(), boundary.plus(Duration.ofHours(2)), Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    assertNotEquals(partitionOf(before.getId()), partitionOf(after.getId()));
+
+    // Only the trigger sees these: the colliding rows sit in adjacent monthly partitions
+    assertThrows(DataIntegrityViolationException.class, () ->
+        slots.create(alice.getId(), boundary, Duration.ofMinutes(30), SlotStatus.BUSY));
+    assertThrows(DataIntegrityViolationException.class, () ->
+        slots.update(after.getId(), boundary, Duration.ofMinutes(60), null));
+
+    assertEquals(boundary.plus(Duration.ofHours(2)), slots.get(after.getId()).getStartTs());
+    assertEquals(2, slots.list(alice.getId(), boundary.minus(Duration.ofDays(1)), boundary.plus(Duration.ofDays(1)),
+        null, null, null).slots().size());
+  }
+
+  @Test
+  void bulkCreate_reportsCrossPartitionOverlapsPerItem() {
+    var alice = users.create("alice21@test.com", "Alice");
+    var bob   = users.create("bob21@test.com", "Bob");
+    Instant boundary = monthStart(YearMonth.now(ZoneOffset.UTC).plusMonths(3));
+    slots.create(alice.getId(), boundary.minus(Duration.ofMinutes(30)), Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+
+    var results = slots.createAll(List.of(
+        new SlotService.NewSlot(alice.getId(), boundary, Duration.ofMinutes(60), null),
+        new SlotService.NewSlot(alice.getId(), boundary.plus(Duration.ofHours(1)), Duration.ofMinutes(60), null),
+        new SlotService.NewSlot(bob.getId(), boundary.minus(Duration.ofHours(1)), Duration.ofHours(2), null),
+        new SlotService.NewSlot(bob.getId(), boundary.plus(Duration.ofMinutes(30)), Duration.ofMinutes(30), null)
+    ));
+
+    assertEquals(SlotService.BulkOutcome.CONFLICT, results.get(0).outcome());
+    assertEquals(SlotService.BulkOutcome.CREATED, results.get(1).outcome());
+    // the two items of bob overlap each other across the boundary: exactly one gets in
+    assertEquals(Set.of(SlotService.BulkOutcome.CREATED, SlotService.BulkOutcome.CONFLICT),
+        Set.of(results.get(2).outcome(), results.get(3).outcome()));
+    assertEquals(1, slots.list(bob.getId(), boundary.minus(Duration.ofDays(1)), boundary.plus(Duration.ofDays(1)),
+        null, null, null).slots().size());
+  }
+
+  @Test
+  void ensurePartitions_movesRowsOutOfTheDefaultPartition() {
+    var alice = users.create("alice22@test.com", "Alice");
+    // far beyond the partitions created ahead, so the month has none yet
+    YearMonth month = YearMonth.now(ZoneOffset.UTC).plusYears(5);
+    Instant start = monthStart(month);
+    var slot = slots.create(alice.getId(), start.plus(Duration.ofDays(1)), Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    var previous = slots.create(alice.getId(), start.minus(Duration.ofHours(3)), Duration.ofHours(1), SlotStatus.AVAILABLE);
+    assertEquals("time_slots_default", partitionOf(slot.getId()));
+
+    assertEquals(1, jdbc.queryForObject("select time_slots_ensure_partitions(?, ?)", Integer.class,
+        start.atOffset(ZoneOffset.UTC), monthStart(month.plusMonths(1)).atOffset(ZoneOffset.UTC)));
+
+    assertEquals(String.format("time_slots_%d_%02d", month.getYear(), month.getMonthValue()), partitionOf(slot.getId()));
+    assertEquals("time_slots_default", partitionOf(previous.getId()));
+    assertEquals(slot.getStartTs(), slots.get(slot.getId()).getStartTs());
+    // the moved row is still guarded against slots of the previous month, left in the default partition
+    assertThrows(DataIntegrityViolationException.class, () ->
+        slots.create(alice.getId(), start.minus(Duration.ofHours(1)), Duration.ofDays(1).plusHours(2),
+            SlotStatus.AVAILABLE));
+  }
+
+  private String partitionOf(UUID slotId) {
+    return jdbc.queryForObject("select tableoid::regclass::text from time_slots where id = ?", String.class, slotId);
+  }
+
+  private static Instant monthStart(YearMonth month) {
+    return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  // --------------------------------------------------
+  // Meeting time finder
+  // --------------------------------------------------
+
+  @Test
+  void findWindows_acrossChunkBoundary_stopsOnceLimitIsReached() {
+    var alice = users.create("alice16@test.com", "Alice");
+    var bob   = users.create("bob16@test.com", "Bob");
+    var both = List.of(alice.getId(), bob.getId());
+    Instant from = BASE;
+    Instant to = BASE.plus(Duration.ofDays(20));
+
+    // chunks: [from, +1d), [+1d, +3d), [+3d, +7d), [+7d, +15d), [+15d, to)
+    Instant boundary = from.plus(Duration.ofDays(1)).minus(Duration.ofMinutes(30));
+    Instant second = from.plus(Duration.ofDays(2));
+    Instant late = from.plus(Duration.ofDays(10));
+    for (var u : both) {
+      slots.create(u, boundary, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+      slots.create(u, second, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+      slots.create(u, late, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    }
+    Duration hour = Duration.ofMinutes(60);
+
+    long before = availabilityCalls();
+    var two = finder.find(both, from, to, hour, null, 2);
+    assertEquals(List.of(new Interval(boundary, boundary.plus(hour)), new Interval(second, second.plus(hour))), two);
+    assertEquals(2, availabilityCalls() - before);
+
+    before = availabilityCalls();
+    var all = finder.find(both, from, to, hour, null, 10);
+    assertEquals(3, all.size());
+    assertEquals(new Interval(late, late.plus(hour)), all.get(2));
+    assertEquals(5, availabilityCalls() - before);
+  }
+
+  private long availabilityCalls() {
+    return registry.get("minidoodle.availability.users").summary().count();
+  }
+
+  // --------------------------------------------------
+  // Materialized free time
+  // --------------------------------------------------
+
+  @Test
+  void freeIntervals_followSlotAndMeetingWrites() {
+    var alice = users.create("alice10@test.com", "Alice");
+    var bob   = users.create("bob10@test.com", "Bob");
+
+    slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    var second = slots.create(alice.getId(), BASE.plus(Duration.ofMinutes(60)), Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    slots.create(bob.getId(), BASE.plus(Duration.ofHours(2)), Duration.ofHours(1), SlotStatus.AVAILABLE);
+    meetings.schedule(alice.getId(), second.getId(), "Review", null, List.of(bob.getId()));
+    slots.update(second.getId(), null, Duration.ofMinutes(30), null);
+
+    var aliceFree = availability.availability(List.of(alice.getId()), BASE, BASE.plus(Duration.ofHours(3)))
+        .users().get(0).free().toIntervals();
+    assertEquals(List.of(new Interval(BASE, BASE.plus(Duration.ofMinutes(60)))), aliceFree);
+    var bobFree = availability.availability(List.of(bob.getId()), BASE, BASE.plus(Duration.ofHours(3)))
+        .users().get(0).free().toIntervals();
+    assertEquals(List.of(new Interval(BASE.plus(Duration.ofHours(2)), BASE.plus(Duration.ofHours(3)))), bobFree);
+    assertEquals(List.of(), jdbc.queryForList("select user_id from user_free_intervals_verify()"));
+  }
+
+  @Test
+  void calendarVersions_advanceWithCommittedWritesOnly() {
+    var alice = users.create("alice11@test.com", "Alice");
+    var bob   = users.create("bob11@test.com", "Bob");
+    var both = List.of(alice.getId(), bob.getId());
+
+    assertEquals(0L, slots.version(alice.getId()));
+    var slot = slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    var listed = slots.list(alice.getId(), BASE, BASE.plus(Duration.ofHours(1)), null, null, null);
+    assertEquals(1, listed.slots().size());
+    assertTrue(listed.version() > 0);
+
+    var before = availability.availability(both, BASE, BASE.plus(Duration.ofHours(1))).versions();
+    meetings.schedule(alice.getId(), slot.getId(), "Sync", null, List.of(bob.getId()));
+    var after = availability.availability(both, BASE, BASE.plus(Duration.ofHours(1))).versions();
+    assertTrue(after.get(alice.getId()) > before.get(alice.getId()));
+    assertTrue(after.get(bob.getId()) > before.get(bob.getId()));
+
+    assertThrows(Conflict.class, () ->
+        meetings.schedule(alice.getId(), slot.getId(), "Again", null, List.of(bob.getId())));
+    assertEquals(after, availability.versions(both));
+  }
+
+  @Test
+  void calendarCache_servesCachedVersions_untilCurrentOnesArePassed() {
+    var alice = users.create("alice23@test.com", "Alice");
+    slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+    var ids = List.of(alice.getId());
+    Instant to = BASE.plus(Duration.ofHours(1));
+
+    long loaded = availability.availability(ids, BASE, to).versions().get(alice.getId());
+    // a write through another node: this node's entry is not invalidated
+    jdbc.update("update calendar_versions set version = version + 1 where user_id = ?", alice.getId());
+
+    assertEquals(loaded, availability.availability(ids, BASE, to).versions().get(alice.getId()));
+    var current = availability.versions(ids);
+    assertEquals(loaded + 1, current.get(alice.getId()));
+    assertEquals(current, availability.availability(ids, BASE, to, null, current).versions());
+  }
+
+  @Test
+  void calendarFeed_deliversCommittedChangesOnly() throws Exception {
+    var alice = users.create("alice12@test.com", "Alice");
+    var bob   = users.create("bob12@test.com", "Bob");
+
+    BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+    try (var subscription = feed.subscribe(List.of(alice.getId()), new CalendarFeed.Listener() {
+      @Override
+      public void onReady() {
+        received.add("ready");
+      }
+
+      @Override
+      public void onChanges(List<CalendarChangedEvent.Change> changes, boolean resync) {
+        received.addAll(changes);
+      }
+
+      @Override
+      public void onHeartbeat() {}
+    })) {
+      slots.create(bob.getId(), BASE, Duration.ofMinutes(30), SlotStatus.AVAILABLE);
+      slots.create(alice.getId(), BASE, Duration.ofMinutes(30), SlotStatus.AVAILABLE);
+      assertThrows(DataIntegrityViolationException.class, () ->
+          slots.create(alice.getId(), BASE, Duration.ofMinutes(30), SlotStatus.AVAILABLE));
+
+      assertEquals("ready", received.poll(5, TimeUnit.SECONDS));
+      var change = received.poll(5, TimeUnit.SECONDS);
+      assertEquals(new CalendarChangedEvent.Change(alice.getId(), BASE, BASE.plus(Duration.ofMinutes(30))), change);
+      assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+    }
+  }
+
   // --------------------------------------------------
   // Atomicity
   // --------------------------------------------------
@@ -276,4 +654,96 @@ class MeetingSchedulingIT {
     assertEquals(SlotStatus.BUSY, updatedSlot.getStatus());
     assertNotNull(updatedSlot.getMeeting());
   }
+
+  // --------------------------------------------------
+  // Optimistic booking
+  // --------------------------------------------------
+
+  @Nested
+  @TestPropertySource(properties = "minidoodle.meetings.booking-mode=optimistic")
+  class OptimisticBooking {
+
+    // From this class's own context; the outer fields hold the pessimistic ones
+    @Autowired private MeetingService meetings;
+    @Autowired private MeterRegistry registry;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void schedulesMeeting_andConvertsSlotToBusy() {
+      var alice = users.create("alice17@test.com", "Alice");
+      var bob   = users.create("bob17@test.com", "Bob");
+      var slot = slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+      long claims = optimisticClaims();
+
+      var meeting = meetings.schedule(alice.getId(), slot.getId(), "Standup", null, List.of(bob.getId()));
+
+      assertEquals(claims + 1, optimisticClaims());
+      var updatedSlot = slots.get(slot.getId());
+      assertEquals(SlotStatus.BUSY, updatedSlot.getStatus());
+      assertEquals(meeting.getId(), updatedSlot.getMeeting().getId());
+      assertEquals(1, jdbc.queryForObject(
+          "select count(*) from time_slots where user_id = ? and meeting_id = ? and status = 'BUSY'",
+          Integer.class, bob.getId(), meeting.getId()));
+    }
+
+    @Test
+    void cannotScheduleMeeting_onBusySlot() {
+      var alice = users.create("alice18@test.com", "Alice");
+      var slot = slots.create(alice.getId(), BASE, Duration.ofMinutes(30), SlotStatus.AVAILABLE);
+      meetings.schedule(alice.getId(), slot.getId(), "First", null, List.of());
+
+      assertThrows(Conflict.class, () ->
+          meetings.schedule(alice.getId(), slot.getId(), "Second", null, List.of()));
+      assertEquals(1, jdbc.queryForObject(
+          "select count(*) from meetings where organizer_id = ?", Integer.class, alice.getId()));
+    }
+
+    @Test
+    void cannotScheduleMeeting_onSlotMovedAfterItWasRead() throws Exception {
+      var alice = users.create("alice19@test.com", "Alice");
+      var bob   = users.create("bob19@test.com", "Bob");
+      var slot = slots.create(alice.getId(), BASE, Duration.ofMinutes(60), SlotStatus.AVAILABLE);
+
+      ExecutorService pool = Executors.newSingleThreadExecutor();
+      try (Connection held = dataSource.getConnection()) {
+        // Bob's overlap-trigger lock stalls the booking between its read of the slot and the claim
+        held.setAutoCommit(false);
+        try (var ps = held.prepareStatement("select pg_advisory_xact_lock(hashtextextended(?::text, 0))")) {
+          ps.setString(1, bob.getId().toString());
+          ps.execute();
+        }
+        Future<?> booking = pool.submit(() ->
+            meetings.schedule(alice.getId(), slot.getId(), "Moved", null, List.of(bob.getId())));
+        awaitAdvisoryLockWaiter();
+
+        Instant moved = BASE.plus(Duration.ofHours(2));
+        slots.update(slot.getId(), moved, Duration.ofMinutes(60), null);
+        held.rollback();
+
+        var ex = assertThrows(ExecutionException.class, () -> booking.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(Conflict.class, ex.getCause());
+      } finally {
+        pool.shutdownNow();
+      }
+
+      var unchanged = slots.get(slot.getId());
+      assertEquals(SlotStatus.AVAILABLE, unchanged.getStatus());
+      assertNull(unchanged.getMeeting());
+      assertEquals(0, jdbc.queryForObject(
+          "select count(*) from time_slots where user_id = ?", Integer.class, bob.getId()));
+    }
+
+    private long optimisticClaims() {
+      return registry.get("minidoodle.meetings.lock.wait").tag("mode", "optimistic").timer().count();
+    }
+
+    private void awaitAdvisoryLockWaiter() throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (jdbc.queryForObject(
+          "select count(*) from pg_locks where locktype = 'advisory' and not granted", Integer.class) == 0) {
+        assertTrue(System.nanoTime() < deadline, "booking never waited for the lock");
+        Thread.sleep(20);
+      }
+    }
+  }
 }
@@ -0,0 +1,139 @@
+package com.example.minidoodle.api.controller;
+
+import com.example.minidoodle.api.dto.CompactAvailabilityResponse;
+import com.example.minidoodle.application.AvailabilityService.AvailabilityResult;
+import com.example.minidoodle.application.AvailabilityService.UserAvailability;
+import com.example.minidoodle.domain.EpochIntervalEngine;
+import com.example.minidoodle.domain.EpochMicros;
+import com.example.minidoodle.domain.Interval;
+import com.example.minidoodle.domain.IntervalEngine;
+import com.example.minidoodle.domain.IntervalSet;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityControllerTest {
+
+  private static final long MINUTE = 60_000_000L;
+  private static final long SECOND = 1_000_000L;
+
+  private final IntervalEngine engine = new EpochIntervalEngine();
+  private final CBORMapper cbor = new CBORMapper();
+
+  @Test
+  void toCompact_usesMinutes_whenEveryBoundIsWholeMinutes() throws Exception {
+    long from = EpochMicros.of(Instant.parse("2026-01-15T00:00:00Z"));
+    var res = result(from, from + 24 * 60 * MINUTE,
+        set(from + 540 * MINUTE, from + 600 * MINUTE, from + 660 * MINUTE, from + 720 * MINUTE),
+        set(from + 600 * MINUTE, from + 630 * MINUTE),
+        set(from + 540 * MINUTE, from + 600 * MINUTE));
+
+    var compact = roundTrip(res);
+
+    assertEquals(MINUTE, compact.unitMicros());
+    assertArrayEquals(new long[] {540, 60, 60, 60}, compact.users().get(0).free());
+    assertArrayEquals(new long[] {540, 60}, compact.commonFree());
+    assertDecodesTo(res, compact);
+  }
+
+  @Test
+  void toCompact_fallsBackToSeconds_thenMicroseconds() throws Exception {
+    long from = EpochMicros.of(Instant.parse("2026-01-15T00:00:00Z"));
+    long to = from + 60 * MINUTE;
+
+    var seconds = result(from, to, set(from + 90 * SECOND, from + 600 * SECOND), set(), set());
+    var compactSeconds = roundTrip(seconds);
+    assertEquals(SECOND, compactSeconds.unitMicros());
+    assertDecodesTo(seconds, compactSeconds);
+
+    var micros = result(from, to, set(from + 90 * SECOND, from + 600 * SECOND + 1), set(), set());
+    var compactMicros = roundTrip(micros);
+    assertEquals(1, compactMicros.unitMicros());
+    assertDecodesTo(micros, compactMicros);
+  }
+
+  @Test
+  void toCompact_encodesEmptyLists() throws Exception {
+    long from = EpochMicros.of(Instant.parse("2026-01-15T00:00:00Z"));
+    var res = result(from, from + MINUTE, set(), set(), set());
+
+    var compact = roundTrip(res);
+
+    assertEquals(0, compact.users().get(0).free().length);
+    assertEquals(0, compact.users().get(0).busy().length);
+    assertEquals(0, compact.commonFree().length);
+    assertDecodesTo(res, compact);
+
+    var noUsers = new AvailabilityResult(res.from(), res.to(), List.of(), set(), Map.of());
+    assertDecodesTo(noUsers, roundTrip(noUsers));
+  }
+
+  @Test
+  void toCompact_handlesRangesBefore1970() throws Exception {
+    long from = EpochMicros.of(Instant.parse("1969-12-31T22:00:00Z"));
+    long to = from + 4 * 60 * MINUTE;
+    var minutes = result(from, to, set(from + 30 * MINUTE, from + 150 * MINUTE), set(from + 150 * MINUTE, to),
+        set(from + 30 * MINUTE, from + 150 * MINUTE));
+
+    var compact = roundTrip(minutes);
+    assertTrue(compact.from() < 0);
+    assertEquals(MINUTE, compact.unitMicros());
+    assertDecodesTo(minutes, compact);
+
+    var micros = result(from - 7, to, set(from - 3, from + 150 * MINUTE), set(), set());
+    var compactMicros = roundTrip(micros);
+    assertEquals(1, compactMicros.unitMicros());
+    assertDecodesTo(micros, compactMicros);
+  }
+
+  // Through CBOR and back, as a client would receive it
+  private CompactAvailabilityResponse roundTrip(AvailabilityResult res) throws Exception {
+    byte[] bytes = cbor.writeValueAsBytes(AvailabilityController.toCompact(res));
+    return cbor.readValue(bytes, CompactAvailabilityResponse.class);
+  }
+
+  private static void assertDecodesTo(AvailabilityResult expected, CompactAvailabilityResponse compact) {
+    long unit = compact.unitMicros();
+    assertEquals(expected.from(), EpochMicros.toInstant(compact.from() * unit));
+    assertEquals(expected.to(), EpochMicros.toInstant(compact.to() * unit));
+    assertEquals(expected.users().size(), compact.users().size());
+    for (int i = 0; i < expected.users().size(); i++) {
+      var u = compact.users().get(i);
+      assertEquals(expected.users().get(i).userId(), u.userId());
+      assertEquals(expected.users().get(i).free().toIntervals(), decode(u.free(), compact));
+      assertEquals(expected.users().get(i).busy().toIntervals(), decode(u.busy(), compact));
+    }
+    assertEquals(expected.commonFree().toIntervals(), decode(compact.commonFree(), compact));
+  }
+
+  // [start0 - from, end0 - start0, start1 - end0, ...] in units
+  private static List<Interval> decode(long[] deltas, CompactAvailabilityResponse compact) {
+    long unit = compact.unitMicros();
+    long at = compact.from() * unit;
+    List<Interval> out = new ArrayList<>();
+    for (int i = 0; i < deltas.length; i += 2) {
+      long start = at + deltas[i] * unit;
+      at = start + deltas[i + 1] * unit;
+      out.add(new Interval(EpochMicros.toInstant(start), EpochMicros.toInstant(at)));
+    }
+    return out;
+  }
+
+  private AvailabilityResult result(long from, long to, IntervalSet free, IntervalSet busy, IntervalSet common) {
+    return new AvailabilityResult(EpochMicros.toInstant(from), EpochMicros.toInstant(to),
+        List.of(new UserAvailability(UUID.randomUUID(), free, busy)), common, Map.of());
+  }
+
+  private IntervalSet set(long... bounds) {
+    var b = engine.builder(bounds.length / 2);
+    for (int i = 0; i < bounds.length; i += 2) b.add(bounds[i], bounds[i + 1]);
+    return b.build();
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.minidoodle.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalEngineTest {
+
+  private static final long MINUTE = 60_000_000L;
+  private static final long BASE = EpochMicros.of(java.time.Instant.parse("2026-01-15T00:00:00Z"));
+
+  private final IntervalEngine reference = new InstantIntervalEngine();
+  private final IntervalEngine epoch = new EpochIntervalEngine();
+
+  @Test
+  void subtract_splitsAroundBusy() {
+    var available = build(epoch, 0, 60, 120, 180);
+    var busy = build(epoch, 10, 20, 50, 130, 170, 200);
+
+    assertEquals(List.of(
+        iv(0, 10), iv(20, 50), iv(130, 170)
+    ), epoch.subtract(available, busy).toIntervals());
+  }
+
+  @Test
+  void intersectAll_ofNothingIsEmpty() {
+    assertTrue(epoch.intersectAll(List.of()).isEmpty());
+    assertTrue(reference.intersectAll(List.of()).isEmpty());
+  }
+
+  @Test
+  void epochEngine_matchesReference_onRandomCalendars() {
+    var rnd = new Random(42);
+    for (int round = 0; round < 500; round++) {
+      int users = 1 + rnd.nextInt(12);
+      List<IntervalSet> refFree = new ArrayList<>();
+      List<IntervalSet> epochFree = new ArrayList<>();
+
+      for (int u = 0; u < users; u++) {
+        long[] available = randomIntervals(rnd, 1 + rnd.nextInt(20));
+        long[] busy = randomIntervals(rnd, rnd.nextInt(20));
+
+        var r = reference.subtract(build(reference, available), build(reference, busy));
+        var e = epoch.subtract(build(epoch, available), build(epoch, busy));
+        assertEquals(r.toIntervals(), e.toIntervals(), "subtract, round " + round);
+
+        refFree.add(r);
+        epochFree.add(e);
+      }
+
+      var expected = reference.intersectAll(refFree).toIntervals();
+      for (var strategy : IntersectStrategy.values()) {
+        assertEquals(expected, epoch.intersectAll(epochFree, strategy).toIntervals(),
+            strategy + ", round " + round);
+      }
+    }
+  }
+
+  @Test
+  void largeGroups_allStrategiesAgree() {
+    var rnd = new Random(7);
+    for (int round = 0; round < 20; round++) {
+      List<IntervalSet> free = new ArrayList<>();
+      for (int u = 0; u < 200; u++) {
+        // long, mostly-free days so the intersection stays non-empty across many users
+        free.add(epoch.subtract(build(epoch, 0, 10_000), build(epoch, randomIntervals(rnd, 3))));
+      }
+      var expected = epoch.intersectAll(free, IntersectStrategy.FOLD).toIntervals();
+      assertEquals(expected, epoch.intersectAll(free, IntersectStrategy.K_WAY).toIntervals());
+      assertEquals(expected, epoch.intersectAll(free, IntersectStrategy.PARALLEL).toIntervals());
+    }
+  }
+
+  @Test
+  void bitmap_keepsOnlyWholeFreeBuckets() {
+    var bitmap = AvailabilityBitmap.empty(BASE, BASE + 100 * MINUTE, 15 * MINUTE)
+        .markFree(BASE + 10 * MINUTE, BASE + 70 * MINUTE)
+        .markFree(BASE + 90 * MINUTE, BASE + 200 * MINUTE)
+        .markBusy(BASE + 50 * MINUTE, BASE + 52 * MINUTE);
+
+    // [60, 75) is only partly free, busy at 50 clears [45, 60), the last bucket is cut off at `to`
+    assertEquals(List.of(iv(15, 45), iv(90, 100)), bitmap.toIntervals(epoch.builder(4)).toIntervals());
+  }
+
+  @Test
+  void bitmap_matchesExactEngine_onMinuteGrid() {
+    var rnd = new Random(11);
+    long to = BASE + 10_000 * MINUTE;
+    for (int round = 0; round < 200; round++) {
+      List<IntervalSet> free = new ArrayList<>();
+      AvailabilityBitmap common = null;
+      for (int u = 0, users = 1 + rnd.nextInt(12); u < users; u++) {
+        long[] available = randomIntervals(rnd, 1 + rnd.nextInt(20));
+        long[] busy = randomIntervals(rnd, rnd.nextInt(20));
+        free.add(epoch.subtract(build(epoch, available), build(epoch, busy)));
+
+        var bitmap = AvailabilityBitmap.empty(BASE, to, MINUTE);
+        for (int i = 0; i < available.length; i += 2) bitmap.markFree(BASE + available[i] * MINUTE, BASE + available[i + 1] * MINUTE);
+        for (int i = 0; i < busy.length; i += 2) bitmap.markBusy(BASE + busy[i] * MINUTE, BASE + busy[i + 1] * MINUTE);
+        if (common == null) common = bitmap;
+        else common.and(bitmap);
+      }
+      // bit runs merge touching intervals, the exact engine keeps them apart
+      assertEquals(coalesce(epoch.intersectAll(free).toIntervals()), common.toIntervals(epoch.builder(16)).toIntervals(),
+          "round " + round);
+    }
+  }
+
+  // Sorted, non-overlapping intervals in minutes, possibly touching.
+  static long[] randomIntervals(Random rnd, int n) {
+    long[] out = new long[2 * n];
+    long cur = rnd.nextInt(60);
+    for (int i = 0; i < n; i++) {
+      long start = cur + rnd.nextInt(3) * rnd.nextInt(90);
+      long end = start + 1 + rnd.nextInt(180);
+      out[2 * i] = start;
+      out[2 * i + 1] = end;
+      cur = end;
+    }
+    return out;
+  }
+
+  static List<Interval> coalesce(List<Interval> intervals) {
+    List<Interval> out = new ArrayList<>();
+    for (var iv : intervals) {
+      if (!out.isEmpty() && out.get(out.size() - 1).end().equals(iv.start())) {
+        out.set(out.size() - 1, new Interval(out.get(out.size() - 1).start(), iv.end()));
+      } else {
+        out.add(iv);
+      }
+    }
+    return out;
+  }
+
+  static IntervalSet build(IntervalEngine engine, long... minutes) {
+    var b = engine.builder(minutes.length / 2);
+    for (int i = 0; i < minutes.length; i += 2) {
+      b.add(BASE + minutes[i] * MINUTE, BASE + minutes[i + 1] * MINUTE);
+    }
+    return b.build();
+  }
+
+  static Interval iv(long startMinute, long endMinute) {
+    return new Interval(EpochMicros.toInstant(BASE + startMinute * MINUTE), EpochMicros.toInstant(BASE + endMinute * MINUTE));
+  }
+}